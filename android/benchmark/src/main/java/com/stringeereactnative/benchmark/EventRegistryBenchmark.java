@@ -0,0 +1,63 @@
+package com.stringeereactnative.benchmark;
+
+import com.stringeereactnative.StringeeEventRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The jsEvents check every native callback makes before it builds its event.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventRegistryBenchmark {
+
+    private static final String[] SUBSCRIBED = {"onConnectionConnected", "onConnectionDisconnected", "onIncomingCall",
+            "onConnectionError", "onRequestNewToken", "onCustomMessage", "onObjectChange", "onSignalingStateChange",
+            "onMediaStateChange", "onLocalStream", "onRemoteStream", "onCallInfo"};
+
+    private StringeeEventRegistry registry;
+
+    @Setup
+    public void setUp() {
+        registry = new StringeeEventRegistry();
+        for (String event : SUBSCRIBED) {
+            registry.add(event);
+        }
+    }
+
+    @Benchmark
+    public boolean containsSubscribed() {
+        return registry.contains("onSignalingStateChange");
+    }
+
+    @Benchmark
+    public boolean containsUnsubscribed() {
+        return registry.contains("onCallTimeline");
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean containsSubscribedContended() {
+        return registry.contains("onSignalingStateChange");
+    }
+
+    // A component mounting and unmounting its handlers.
+    @Benchmark
+    public boolean addRemove() {
+        return registry.add("onHandledOnAnotherDevice") & registry.remove("onHandledOnAnotherDevice");
+    }
+}
@@ -0,0 +1,56 @@
+package com.stringeereactnative.benchmark;
+
+import com.stringeereactnative.StringeeLatencyHistogram;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The cost metrics add to every tracked bridge call when they are enabled.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LatencyHistogramBenchmark {
+
+    private StringeeLatencyHistogram histogram;
+
+    @Setup
+    public void setUp() {
+        histogram = new StringeeLatencyHistogram();
+    }
+
+    @State(Scope.Thread)
+    public static class Sample {
+        long nanos = 1000;
+
+        // Walks values from 1 us to about 1 s so every bucket is hit.
+        long next() {
+            nanos = nanos < 1000000000L ? nanos * 3 / 2 : 1000;
+            return nanos;
+        }
+    }
+
+    @Benchmark
+    public void record(Sample sample) {
+        histogram.record(sample.next(), 1);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void recordContended(Sample sample) {
+        histogram.record(sample.next(), 1);
+    }
+}
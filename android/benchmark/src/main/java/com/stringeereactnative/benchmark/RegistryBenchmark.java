@@ -0,0 +1,73 @@
+package com.stringeereactnative.benchmark;
+
+import com.stringeereactnative.StringeeRegistry;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The StringeeManager registry operations, with plain objects standing in for calls and streams.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RegistryBenchmark {
+
+    @Param({"8", "64"})
+    public int size;
+
+    private StringeeRegistry<String, Object> registry;
+    private String hitKey;
+
+    @Setup
+    public void setUp() {
+        registry = new StringeeRegistry<>();
+        for (int i = 0; i < size; i++) {
+            registry.put("stream_" + i, new Object());
+        }
+        hitKey = "stream_" + (size / 2);
+        registry.setState(hitKey, "subscribed");
+    }
+
+    @Benchmark
+    public Object get() {
+        return registry.get(hitKey);
+    }
+
+    @Benchmark
+    public String setGetState() {
+        registry.setState(hitKey, "subscribed");
+        return registry.getState(hitKey);
+    }
+
+    @Benchmark
+    public boolean putRemove() {
+        Object value = new Object();
+        registry.putIfAbsent("call_new", value);
+        return registry.remove("call_new", value);
+    }
+
+    // How rooms find their streams, e.g. when a subscription policy is set.
+    @Benchmark
+    public List<Object> findAll() {
+        return registry.findAll(new StringeeRegistry.Filter<String, Object>() {
+            @Override
+            public boolean matches(String key, Object value) {
+                return key.endsWith("1");
+            }
+        });
+    }
+}
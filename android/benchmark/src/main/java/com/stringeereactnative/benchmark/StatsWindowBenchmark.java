@@ -0,0 +1,49 @@
+package com.stringeereactnative.benchmark;
+
+import com.stringeereactnative.StringeeStatsWindow;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// What the call and room stats monitors do for every stream on every tick, minus writeTo.
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StatsWindowBenchmark {
+
+    private StringeeStatsWindow window;
+    private long tick;
+
+    @Setup
+    public void setUp() {
+        window = new StringeeStatsWindow();
+        for (int i = 0; i < StringeeStatsWindow.DEFAULT_CAPACITY; i++) {
+            addSample();
+        }
+    }
+
+    // Counters keep growing so the window is never reset.
+    @Benchmark
+    public void addSample() {
+        tick++;
+        window.add(tick * 62500 + (tick % 7) * 1000, tick / 50, tick * 50, tick * 1000);
+    }
+
+    @Benchmark
+    public double derive() {
+        return window.getBitrate() + window.getAverageBitrate() + window.getPacketLossPercent() + window.getBitrateJitter();
+    }
+}
@@ -0,0 +1,12 @@
+package android.os;
+
+// Plain JVM stand-in for the one SystemClock method the benchmarked classes use.
+public final class SystemClock {
+
+    private SystemClock() {
+    }
+
+    public static long elapsedRealtime() {
+        return System.nanoTime() / 1000000;
+    }
+}
@@ -0,0 +1,12 @@
+package com.facebook.react.bridge;
+
+// Compile-time stand-in, the benchmarks never build bridge maps since those need the React Native JNI libraries.
+public final class Arguments {
+
+    private Arguments() {
+    }
+
+    public static WritableMap createMap() {
+        throw new UnsupportedOperationException("Bridge maps are not available on a plain JVM");
+    }
+}
@@ -0,0 +1,11 @@
+package com.facebook.react.bridge;
+
+// Compile-time stand-in, the benchmarks never build bridge maps since those need the React Native JNI libraries.
+public interface WritableMap {
+
+    void putInt(String key, int value);
+
+    void putDouble(String key, double value);
+
+    void putMap(String key, WritableMap value);
+}
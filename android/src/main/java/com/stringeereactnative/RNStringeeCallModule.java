@@ -1,5 +1,7 @@
 package com.stringeereactnative;
 
+import android.os.Handler;
+import android.os.Looper;
 import android.support.annotation.Nullable;
 
 import com.facebook.react.bridge.Arguments;
@@ -8,8 +10,8 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.stringee.call.StringeeCall;
 import com.stringee.common.StringeeConstant;
 import com.stringee.exception.StringeeError;
@@ -18,12 +20,26 @@ import com.stringee.listener.StatusListener;
 import org.json.JSONException;
 import org.json.JSONObject;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RNStringeeCallModule extends ReactContextBaseJavaModule implements StringeeCall.StringeeCallListener {
 
-    private Callback mCallback;
-    private ArrayList<String> jsEvents = new ArrayList<String>();
+    private static final long MAKE_CALL_TIMEOUT = 30000;
+    private static final long DEFAULT_PREPARED_CALL_TTL = 60000;
+
+    private StringeeEventRegistry jsEvents = new StringeeEventRegistry();
+    private StringeeMetrics metrics = StringeeManager.getInstance().getMetrics();
+    private StringeeEventReplayBuffer replayBuffer = new StringeeEventReplayBuffer();
+    private StringeeCallTimelineRecorder timelines = StringeeManager.getInstance().getCallTimelines();
+    private StringeePendingCallbacks<StringeeCall> makeCallCallbacks = new StringeePendingCallbacks<>(MAKE_CALL_TIMEOUT);
+    private Map<String, StringeeCallStatsMonitor> statsMonitors = new ConcurrentHashMap<>();
+    private ConcurrentHashMap<String, StringeeCall> preparedCalls = new ConcurrentHashMap<>();
+    private AtomicInteger preparedCallCounter = new AtomicInteger();
+    private Handler handler = new Handler(Looper.getMainLooper());
 
     public RNStringeeCallModule(ReactApplicationContext reactContext) {
         super(reactContext);
@@ -35,8 +51,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void makeCall(String params, Callback callback) {
-        mCallback = callback;
+    public void makeCall(String params, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.makeCall", jsCallback);
         if (StringeeManager.getInstance().getClient() == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.", "");
             return;
@@ -53,30 +69,113 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             boolean isVideoCall = jsonObject.getBoolean("isVideoCall");
             String customData = jsonObject.optString("customData");
             String resolution = jsonObject.optString("videoResolution");
+            dial(createCall(from, to, isVideoCall, customData, resolution), callback);
+        } catch (JSONException e) {
+            callback.invoke(false, -4, "The parameters format is invalid.", "");
+            return;
+        }
+    }
 
+    @ReactMethod
+    public void makeCallWithMap(ReadableMap params, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.makeCallWithMap", jsCallback);
+        if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected.", "");
+            return;
+        }
 
-            StringeeCall mStringeeCall = new StringeeCall(getReactApplicationContext(), StringeeManager.getInstance().getClient(), from, to);
-            mStringeeCall.setCallListener(this);
-            mStringeeCall.setVideoCall(isVideoCall);
-            if (customData != null) {
-                mStringeeCall.setCustom(customData);
-            }
-            if (resolution != null) {
-                if (resolution.equalsIgnoreCase("NORMAL")) {
-                    mStringeeCall.setQuality(StringeeConstant.QUALITY_NORMAL);
-                } else if (resolution.equalsIgnoreCase("HD")) {
-                    mStringeeCall.setQuality(StringeeConstant.QUALITY_HD);
-                }
-            }
-            mStringeeCall.makeCall();
-        } catch (JSONException e) {
+        if (params == null || !params.hasKey("from") || !params.hasKey("to") || !params.hasKey("isVideoCall")) {
             callback.invoke(false, -4, "The parameters format is invalid.", "");
             return;
         }
+        dial(createCall(params), callback);
     }
 
     @ReactMethod
-    public void initAnswer(String callId, Callback callback) {
+    public void prepareCall(ReadableMap params, int ttl, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.prepareCall", jsCallback);
+        if (StringeeManager.getInstance().getClient() == null) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected.", "");
+            return;
+        }
+
+        if (params == null || !params.hasKey("from") || !params.hasKey("to") || !params.hasKey("isVideoCall")) {
+            callback.invoke(false, -4, "The parameters format is invalid.", "");
+            return;
+        }
+
+        final String handle = "prepared_call_" + preparedCallCounter.incrementAndGet();
+        final StringeeCall call = createCall(params);
+        preparedCalls.put(handle, call);
+        handler.postDelayed(new Runnable() {
+            @Override
+            public void run() {
+                preparedCalls.remove(handle, call);
+            }
+        }, ttl > 0 ? ttl : DEFAULT_PREPARED_CALL_TTL);
+        callback.invoke(true, 0, "Success", handle);
+    }
+
+    @ReactMethod
+    public void dialPrepared(String handle, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.dialPrepared", jsCallback);
+        if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected.", "");
+            return;
+        }
+
+        if (handle == null || handle.length() == 0) {
+            callback.invoke(false, -2, "The handle is invalid.", "");
+            return;
+        }
+
+        StringeeCall call = preparedCalls.remove(handle);
+        if (call == null) {
+            callback.invoke(false, -3, "The prepared call is not found or has expired.", "");
+            return;
+        }
+        dial(call, callback);
+    }
+
+    @ReactMethod
+    public void cancelPreparedCall(String handle) {
+        if (handle != null) {
+            preparedCalls.remove(handle);
+        }
+    }
+
+    private StringeeCall createCall(ReadableMap params) {
+        String customData = params.hasKey("customData") ? params.getString("customData") : null;
+        String resolution = params.hasKey("videoResolution") ? params.getString("videoResolution") : null;
+        return createCall(params.getString("from"), params.getString("to"), params.getBoolean("isVideoCall"), customData, resolution);
+    }
+
+    private StringeeCall createCall(String from, String to, boolean isVideoCall, String customData, String resolution) {
+        StringeeCall mStringeeCall = new StringeeCall(getReactApplicationContext(), StringeeManager.getInstance().getClient(), from, to);
+        mStringeeCall.setCallListener(this);
+        mStringeeCall.setVideoCall(isVideoCall);
+        if (customData != null) {
+            mStringeeCall.setCustom(customData);
+        }
+        if (resolution != null) {
+            if (resolution.equalsIgnoreCase("NORMAL")) {
+                mStringeeCall.setQuality(StringeeConstant.QUALITY_NORMAL);
+            } else if (resolution.equalsIgnoreCase("HD")) {
+                mStringeeCall.setQuality(StringeeConstant.QUALITY_HD);
+            }
+        }
+        return mStringeeCall;
+    }
+
+    private void dial(StringeeCall call, Callback callback) {
+        timelines.start(call, "makeCall");
+        makeCallCallbacks.add(call, callback, false, -5, "The call request timed out.", "", "");
+        call.makeCall();
+    }
+
+    @ReactMethod
+    public void initAnswer(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.initAnswer", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -87,18 +186,20 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
         }
         call.setCallListener(this);
+        timelines.start(call, "initAnswer");
         call.initAnswer(getReactApplicationContext(), StringeeManager.getInstance().getClient());
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void answer(String callId, Callback callback) {
+    public void answer(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.answer", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -109,17 +210,19 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
         }
+        timelines.mark(call, "answer");
         call.answer();
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void reject(String callId, Callback callback) {
+    public void reject(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.reject", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -130,17 +233,19 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
         }
+        timelines.mark(call, "reject");
         call.reject();
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void hangup(String callId, Callback callback) {
+    public void hangup(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.hangup", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -151,17 +256,19 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
         }
+        timelines.mark(call, "hangup");
         call.hangup();
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void enableVideo(String callId, boolean enabled, Callback callback) {
+    public void enableVideo(String callId, boolean enabled, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.enableVideo", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -172,7 +279,7 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -182,13 +289,14 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void mute(String callId, boolean isMute, Callback callback) {
+    public void mute(String callId, boolean isMute, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.mute", jsCallback);
         if (callId == null || callId.length() == 0) {
             callback.invoke(false, -2, "The call id is invalid.");
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -199,7 +307,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void sendCallInfo(String callId, String info, Callback callback) {
+    public void sendCallInfo(String callId, String info, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.sendCallInfo", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -210,7 +319,7 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -224,8 +333,37 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
         }
     }
 
+    // The SDK takes a JSONObject, build it straight from the map instead of going through JSON text.
+    @ReactMethod
+    public void sendCallInfoWithMap(String callId, ReadableMap info, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.sendCallInfoWithMap", jsCallback);
+        if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
+            return;
+        }
+
+        if (callId == null || callId.length() == 0) {
+            callback.invoke(false, -2, "The call id is invalid.");
+            return;
+        }
+
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
+        if (call == null) {
+            callback.invoke(false, -3, "The call is not found.");
+            return;
+        }
+
+        if (info == null) {
+            callback.invoke(false, -4, "The call info format is invalid.");
+            return;
+        }
+        call.sendCallInfo(new JSONObject(info.toHashMap()));
+        callback.invoke(true, 0, "Success");
+    }
+
     @ReactMethod
-    public void sendDTMF(String callId, String key, final Callback callback) {
+    public void sendDTMF(String callId, String key, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.sendDTMF", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -236,7 +374,7 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -255,13 +393,14 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void switchCamera(String callId, Callback callback) {
+    public void switchCamera(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.switchCamera", jsCallback);
         if (callId == null || callId.length() == 0) {
             callback.invoke(false, -2, "The call id is invalid.");
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -271,7 +410,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void getCallStats(String callId, final Callback callback) {
+    public void getCallStats(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.getCallStats", jsCallback);
         if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.", "");
             return;
@@ -282,7 +422,7 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.", "");
             return;
@@ -306,13 +446,129 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void setSpeakerphoneOn(String callId, boolean on, Callback callback) {
+    public void getCallStatsMap(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.getCallStatsMap", jsCallback);
+        if (StringeeManager.getInstance().getClient() == null || !StringeeManager.getInstance().getClient().isConnected()) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected.", null);
+            return;
+        }
+
+        if (callId == null || callId.length() == 0) {
+            callback.invoke(false, -2, "The call id is invalid.", null);
+            return;
+        }
+
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
+        if (call == null) {
+            callback.invoke(false, -3, "The call is not found.", null);
+            return;
+        }
+
+        call.getStats(new StringeeCall.CallStatsListener() {
+            @Override
+            public void onCallStats(StringeeCall.StringeeCallStats stringeeCallStats) {
+                WritableMap stats = Arguments.createMap();
+                stats.putDouble("bytesReceived", stringeeCallStats.callBytesReceived);
+                stats.putDouble("packetsLost", stringeeCallStats.callPacketsLost);
+                stats.putDouble("packetsReceived", stringeeCallStats.callPacketsReceived);
+                stats.putDouble("timeStamp", stringeeCallStats.timeStamp);
+                callback.invoke(true, 0, "Success", stats);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void getCallTimeline(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.getCallTimeline", jsCallback);
+        if (callId == null || callId.length() == 0) {
+            callback.invoke(false, -2, "The call id is invalid.", null);
+            return;
+        }
+
+        StringeeCallTimeline timeline = timelines.get(callId);
+        if (timeline == null) {
+            callback.invoke(false, -3, "The call timeline is not found.", null);
+            return;
+        }
+        callback.invoke(true, 0, "Success", timeline.toMap());
+    }
+
+    @ReactMethod
+    public void startStatsMonitor(String callId, int interval, ReadableMap options, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.startStatsMonitor", jsCallback);
+        if (callId == null || callId.length() == 0) {
+            callback.invoke(false, -2, "The call id is invalid.");
+            return;
+        }
+
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
+        if (call == null) {
+            callback.invoke(false, -3, "The call is not found.");
+            return;
+        }
+
+        boolean onlyOnChange = false;
+        double bitrateThreshold = StringeeCallStatsMonitor.DEFAULT_BITRATE_THRESHOLD;
+        double lossThreshold = StringeeCallStatsMonitor.DEFAULT_LOSS_THRESHOLD;
+        if (options != null) {
+            if (options.hasKey("onlyOnChange")) {
+                onlyOnChange = options.getBoolean("onlyOnChange");
+            }
+            if (options.hasKey("bitrateThreshold")) {
+                bitrateThreshold = options.getDouble("bitrateThreshold");
+            }
+            if (options.hasKey("lossThreshold")) {
+                lossThreshold = options.getDouble("lossThreshold");
+            }
+        }
+
+        StringeeCallStatsMonitor monitor = new StringeeCallStatsMonitor(callId, interval, onlyOnChange, bitrateThreshold, lossThreshold, new StringeeCallStatsMonitor.Listener() {
+            @Override
+            public void onStats(String callId, WritableMap summary) {
+                if (jsEvents.contains("onCallStats")) {
+                    sendEvent(getReactApplicationContext(), "onCallStats", summary);
+                }
+            }
+
+            @Override
+            public void onStopped(String callId) {
+                statsMonitors.remove(callId);
+            }
+        });
+        StringeeCallStatsMonitor previous = statsMonitors.put(callId, monitor);
+        if (previous != null) {
+            previous.stop();
+        }
+        monitor.start();
+        callback.invoke(true, 0, "Success");
+    }
+
+    @ReactMethod
+    public void stopStatsMonitor(String callId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.stopStatsMonitor", jsCallback);
         if (callId == null || callId.length() == 0) {
             callback.invoke(false, -2, "The call id is invalid.");
             return;
         }
 
-        StringeeCall call = StringeeManager.getInstance().getCallsMap().get(callId);
+        StringeeCallStatsMonitor monitor = statsMonitors.remove(callId);
+        if (monitor == null) {
+            callback.invoke(false, -3, "The stats monitor is not found.");
+            return;
+        }
+        monitor.stop();
+        callback.invoke(true, 0, "Success");
+    }
+
+    @ReactMethod
+    public void setSpeakerphoneOn(String callId, boolean on, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeCall.setSpeakerphoneOn", jsCallback);
+        if (callId == null || callId.length() == 0) {
+            callback.invoke(false, -2, "The call id is invalid.");
+            return;
+        }
+
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
         if (call == null) {
             callback.invoke(false, -3, "The call is not found.");
             return;
@@ -323,12 +579,13 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onSignalingStateChange(StringeeCall stringeeCall, StringeeCall.SignalingState signalingState, String reason, int sipCode, String sipReason) {
-        if (contains(jsEvents, "onSignalingStateChange")) {
-            if (signalingState == StringeeCall.SignalingState.CALLING) {
-                StringeeManager.getInstance().getCallsMap().put(stringeeCall.getCallId(), stringeeCall);
-                mCallback.invoke(true, 0, "Success", stringeeCall.getCallId(), stringeeCall.getCustomDataFromYourServer());
-            }
+        timelines.mark(stringeeCall, signalingState.name().toLowerCase(Locale.US));
+        if (signalingState == StringeeCall.SignalingState.CALLING) {
+            StringeeManager.getInstance().getCallsRegistry().putIfAbsent(stringeeCall.getCallId(), stringeeCall);
+            makeCallCallbacks.invoke(stringeeCall, true, 0, "Success", stringeeCall.getCallId(), stringeeCall.getCustomDataFromYourServer());
+        }
 
+        if (canSend("onSignalingStateChange")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             params.putInt("code", signalingState.getValue());
@@ -337,27 +594,54 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
             params.putString("sipReason", sipReason);
             sendEvent(getReactApplicationContext(), "onSignalingStateChange", params);
         }
+
+        StringeeRegistry<String, StringeeCall> callsRegistry = StringeeManager.getInstance().getCallsRegistry();
+        if (signalingState == StringeeCall.SignalingState.ENDED || signalingState == StringeeCall.SignalingState.BUSY) {
+            makeCallCallbacks.invoke(stringeeCall, false, signalingState.getValue(), reason, stringeeCall.getCallId(), stringeeCall.getCustomDataFromYourServer());
+            StringeeCallStatsMonitor monitor = statsMonitors.remove(stringeeCall.getCallId());
+            if (monitor != null) {
+                monitor.stop();
+            }
+            callsRegistry.remove(stringeeCall.getCallId(), stringeeCall);
+            finishTimeline(stringeeCall);
+        } else {
+            callsRegistry.setState(stringeeCall.getCallId(), signalingState.name().toLowerCase(Locale.US));
+        }
     }
 
     @Override
     public void onError(StringeeCall stringeeCall, int code, String desc) {
-        mCallback.invoke(false, code, desc, stringeeCall.getCallId(), stringeeCall.getCustomDataFromYourServer());
+        timelines.mark(stringeeCall, "error");
+        finishTimeline(stringeeCall);
+        makeCallCallbacks.invoke(stringeeCall, false, code, desc, stringeeCall.getCallId(), stringeeCall.getCustomDataFromYourServer());
     }
 
     @Override
     public void onHandledOnAnotherDevice(StringeeCall stringeeCall, StringeeCall.SignalingState signalingState, String s) {
-        if (contains(jsEvents, "onHandledOnAnotherDevice")) {
+        timelines.mark(stringeeCall, "handledOnAnotherDevice");
+        if (canSend("onHandledOnAnotherDevice")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             params.putInt("code", signalingState.getValue());
             params.putString("description", s);
             sendEvent(getReactApplicationContext(), "onHandledOnAnotherDevice", params);
         }
+
+        // Once answered, rejected or ended elsewhere the call is no longer usable on this device.
+        if (signalingState != StringeeCall.SignalingState.RINGING) {
+            StringeeManager.getInstance().getCallsRegistry().remove(stringeeCall.getCallId(), stringeeCall);
+            finishTimeline(stringeeCall);
+        }
     }
 
     @Override
     public void onMediaStateChange(StringeeCall stringeeCall, StringeeCall.MediaState mediaState) {
-        if (contains(jsEvents, "onMediaStateChange")) {
+        if (mediaState == StringeeCall.MediaState.CONNECTED) {
+            timelines.mark(stringeeCall, "mediaConnected");
+        } else if (mediaState == StringeeCall.MediaState.DISCONNECTED) {
+            timelines.mark(stringeeCall, "mediaDisconnected");
+        }
+        if (canSend("onMediaStateChange")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             int code = -1;
@@ -377,7 +661,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onLocalStream(StringeeCall stringeeCall) {
-        if (contains(jsEvents, "onLocalStream")) {
+        timelines.mark(stringeeCall, "localStream");
+        if (canSend("onLocalStream")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             sendEvent(getReactApplicationContext(), "onLocalStream", params);
@@ -386,7 +671,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onRemoteStream(StringeeCall stringeeCall) {
-        if (contains(jsEvents, "onRemoteStream")) {
+        timelines.mark(stringeeCall, "remoteStream");
+        if (canSend("onRemoteStream")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             sendEvent(getReactApplicationContext(), "onRemoteStream", params);
@@ -395,7 +681,8 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onCallInfo(StringeeCall stringeeCall, JSONObject jsonObject) {
-        if (contains(jsEvents, "onCallInfo")) {
+        timelines.mark(stringeeCall, "callInfo");
+        if (canSend("onCallInfo")) {
             WritableMap params = Arguments.createMap();
             params.putString("callId", stringeeCall.getCallId());
             params.putString("data", jsonObject.toString());
@@ -403,29 +690,46 @@ public class RNStringeeCallModule extends ReactContextBaseJavaModule implements
         }
     }
 
+    private void finishTimeline(StringeeCall stringeeCall) {
+        StringeeCallTimeline timeline = timelines.finish(stringeeCall);
+        if (timeline != null && jsEvents.contains("onCallTimeline")) {
+            sendEvent(getReactApplicationContext(), "onCallTimeline", timeline.toMap());
+        }
+    }
+
+    private boolean canSend(String eventName) {
+        return jsEvents.contains(eventName) || replayBuffer.accepts(eventName);
+    }
+
     private void sendEvent(ReactContext reactContext, String eventName, @Nullable WritableMap eventData) {
-        reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit(eventName, eventData);
+        synchronized (replayBuffer) {
+            if (!jsEvents.contains(eventName)) {
+                replayBuffer.offer(eventName, eventData);
+                return;
+            }
+            StringeeManager.getInstance().getEventEmitter().emit(reactContext, eventName, eventData);
+        }
+    }
+
+    // Called with the replay buffer lock held, so no event can slip in between the drain and the subscription.
+    private void replayEvents(String eventName) {
+        List<WritableMap> events = replayBuffer.drain(eventName);
+        for (int i = 0; i < events.size(); i++) {
+            StringeeManager.getInstance().getEventEmitter().emit(getReactApplicationContext(), eventName, events.get(i));
+        }
     }
 
     @ReactMethod
     public void setNativeEvent(String event) {
-        jsEvents.add(event);
+        synchronized (replayBuffer) {
+            if (jsEvents.add(event)) {
+                replayEvents(event);
+            }
+        }
     }
 
     @ReactMethod
     public void removeNativeEvent(String event) {
         jsEvents.remove(event);
     }
-
-    private boolean contains(ArrayList array, String value) {
-
-        for (int i = 0; i < array.size(); i++) {
-            if (array.get(i).equals(value)) {
-                return true;
-            }
-        }
-        return false;
-    }
 }
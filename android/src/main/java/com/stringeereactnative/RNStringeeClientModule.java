@@ -1,8 +1,8 @@
 package com.stringeereactnative;
 
 import android.content.Context;
-import android.os.Bundle;
 import android.support.annotation.Nullable;
+import android.util.LruCache;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Callback;
@@ -12,9 +12,9 @@ import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
 import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableType;
 import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.stringee.StringeeClient;
 import com.stringee.call.StringeeCall;
 import com.stringee.exception.StringeeError;
@@ -34,15 +34,26 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
-import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RNStringeeClientModule extends ReactContextBaseJavaModule implements StringeeConnectionListener, ChangeEventListenter {
 
+    private static final int MAX_CONVERSATION_CURSORS = 16;
+
     private StringeeManager mStringeeManager;
     private StringeeClient mClient;
-    private ArrayList<String> jsEvents = new ArrayList<String>();
+    private StringeeEventRegistry jsEvents = new StringeeEventRegistry();
+    private StringeeMetrics metrics = StringeeManager.getInstance().getMetrics();
+    private StringeeEventReplayBuffer replayBuffer = new StringeeEventReplayBuffer();
+    private StringeeIncomingCallQueue incomingCalls = new StringeeIncomingCallQueue();
+    private StringeeIncomingCallListener incomingCallListener = new StringeeIncomingCallListener(incomingCalls);
     private Context mContext;
+    // Bounded, the least recently used cursors are dropped when JS opens more than it closes.
+    private LruCache<String, StringeeConversationCursor> conversationCursors = new LruCache<>(MAX_CONVERSATION_CURSORS);
+    private AtomicInteger cursorCounter = new AtomicInteger();
 
     public RNStringeeClientModule(ReactApplicationContext context) {
         super(context);
@@ -56,7 +67,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void init() {
+    public void init(ReadableMap options) {
         mClient = mStringeeManager.getClient();
         if (mClient == null) {
             mClient = new StringeeClient(getReactApplicationContext());
@@ -65,12 +76,32 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         }
 
         mStringeeManager.setClient(mClient);
+
+        if (options != null) {
+            // Every StringeeClient mount calls init, so only reconfigure batching when it is asked for,
+            // and keep the current value of an option that is not given.
+            if (options.hasKey("eventBatchWindow") || options.hasKey("eventBatchMaxSize")) {
+                StringeeEventEmitter eventEmitter = mStringeeManager.getEventEmitter();
+                int batchWindow = eventEmitter.getBatchWindow();
+                if (options.hasKey("eventBatchWindow")) {
+                    batchWindow = options.getInt("eventBatchWindow");
+                }
+                int maxBatchSize = eventEmitter.getMaxBatchSize();
+                if (options.hasKey("eventBatchMaxSize")) {
+                    maxBatchSize = options.getInt("eventBatchMaxSize");
+                }
+                eventEmitter.configure(batchWindow, maxBatchSize);
+            }
+            if (options.hasKey("eventReplaySize")) {
+                mStringeeManager.setEventReplaySize(options.getInt("eventReplaySize"));
+            }
+        }
     }
 
     @ReactMethod
     public void connect(String accessToken) {
         if (mClient.isConnected()) {
-            if (contains(jsEvents, "onConnectionConnected")) {
+            if (canSend("onConnectionConnected")) {
                 WritableMap params = Arguments.createMap();
                 params.putString("userId", mClient.getUserId());
                 params.putInt("projectId", mClient.getProjectId());
@@ -87,10 +118,12 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         if (mClient != null) {
             mClient.disconnect();
         }
+        mStringeeManager.getConversationCache().clear();
     }
 
     @ReactMethod
-    public void registerPushToken(String token, final Callback callback) {
+    public void registerPushToken(String token, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.registerPushToken", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -110,7 +143,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void unregisterPushToken(final String token, final Callback callback) {
+    public void unregisterPushToken(final String token, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.unregisterPushToken", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -130,7 +164,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void sendCustomMessage(String toUser, String msg, final Callback callback) {
+    public void sendCustomMessage(String toUser, String msg, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.sendCustomMessage", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -157,7 +192,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     @Override
     public void onConnectionConnected(StringeeClient stringeeClient, boolean b) {
-        if (contains(jsEvents, "onConnectionConnected")) {
+        if (canSend("onConnectionConnected")) {
             WritableMap params = Arguments.createMap();
             params.putString("userId", stringeeClient.getUserId());
             params.putInt("projectId", stringeeClient.getProjectId());
@@ -168,7 +203,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     @Override
     public void onConnectionDisconnected(StringeeClient stringeeClient, boolean b) {
-        if (contains(jsEvents, "onConnectionDisconnected")) {
+        if (canSend("onConnectionDisconnected")) {
             WritableMap params = Arguments.createMap();
             params.putString("userId", stringeeClient.getUserId());
             params.putInt("projectId", stringeeClient.getProjectId());
@@ -179,31 +214,68 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     @Override
     public void onIncomingCall(StringeeCall stringeeCall) {
-        if (contains(jsEvents, "onIncomingCall")) {
-            StringeeManager.getInstance().getCallsMap().put(stringeeCall.getCallId(), stringeeCall);
-            WritableMap params = Arguments.createMap();
-            if (mClient != null) {
-                params.putString("userId", mClient.getUserId());
+        // Until initAnswer sets the call module as listener, this one drops the call once it ends.
+        stringeeCall.setCallListener(incomingCallListener);
+        // Keep the call even when JS is not listening yet, so it can still be answered after a cold start.
+        StringeeManager.getInstance().getCallsRegistry().putIfAbsent(stringeeCall.getCallId(), stringeeCall);
+        // Incoming timelines start on arrival so they measure the whole push to answer latency.
+        StringeeManager.getInstance().getCallTimelines().start(stringeeCall, "incoming");
+        long receivedAt = System.currentTimeMillis();
+        // Same lock as setNativeEvent, so a call can not be queued right after the queue was replayed.
+        synchronized (replayBuffer) {
+            if (jsEvents.contains("onIncomingCall")) {
+                sendIncomingCall(stringeeCall, receivedAt);
+            } else {
+                StringeeCall dropped = incomingCalls.offer(stringeeCall, receivedAt);
+                if (dropped != null) {
+                    StringeeManager.getInstance().getCallsRegistry().remove(dropped.getCallId(), dropped);
+                    StringeeManager.getInstance().getCallTimelines().finish(dropped);
+                }
             }
-            params.putString("callId", stringeeCall.getCallId());
-            params.putString("from", stringeeCall.getFrom());
-            params.putString("to", stringeeCall.getTo());
-            params.putString("fromAlias", stringeeCall.getFromAlias());
-            params.putString("toAlias", stringeeCall.getToAlias());
-            int callType = 1;
-            if (stringeeCall.isPhoneToAppCall()) {
-                callType = 3;
+        }
+    }
+
+    private void sendIncomingCall(StringeeCall stringeeCall, long receivedAt) {
+        WritableMap params = Arguments.createMap();
+        if (mClient != null) {
+            params.putString("userId", mClient.getUserId());
+        }
+        params.putString("callId", stringeeCall.getCallId());
+        params.putString("from", stringeeCall.getFrom());
+        params.putString("to", stringeeCall.getTo());
+        params.putString("fromAlias", stringeeCall.getFromAlias());
+        params.putString("toAlias", stringeeCall.getToAlias());
+        int callType = 1;
+        if (stringeeCall.isPhoneToAppCall()) {
+            callType = 3;
+        }
+        params.putInt("callType", callType);
+        params.putBoolean("isVideoCall", stringeeCall.isVideoCall());
+        params.putString("customDataFromYourServer", stringeeCall.getCustomDataFromYourServer());
+        params.putDouble("receivedAt", receivedAt);
+        sendEvent(getReactApplicationContext(), "onIncomingCall", params);
+    }
+
+    private void replayIncomingCalls() {
+        List<StringeeIncomingCallQueue.Entry> expired = new ArrayList<>();
+        List<StringeeIncomingCallQueue.Entry> queued = incomingCalls.drain(expired);
+        for (int i = 0; i < expired.size(); i++) {
+            StringeeCall call = expired.get(i).call;
+            StringeeManager.getInstance().getCallsRegistry().remove(call.getCallId(), call);
+            StringeeManager.getInstance().getCallTimelines().finish(call);
+        }
+        for (int i = 0; i < queued.size(); i++) {
+            StringeeIncomingCallQueue.Entry entry = queued.get(i);
+            // Skip calls that were ended and unregistered while waiting, in case they ended during the drain.
+            if (StringeeManager.getInstance().getCallsRegistry().get(entry.call.getCallId()) == entry.call) {
+                sendIncomingCall(entry.call, entry.receivedAt);
             }
-            params.putInt("callType", callType);
-            params.putBoolean("isVideoCall", stringeeCall.isVideoCall());
-            params.putString("customDataFromYourServer", stringeeCall.getCustomDataFromYourServer());
-            sendEvent(getReactApplicationContext(), "onIncomingCall", params);
         }
     }
 
     @Override
     public void onConnectionError(StringeeClient stringeeClient, StringeeError stringeeError) {
-        if (contains(jsEvents, "onConnectionError")) {
+        if (canSend("onConnectionError")) {
             WritableMap params = Arguments.createMap();
             params.putInt("code", stringeeError.getCode());
             params.putString("message", stringeeError.getMessage());
@@ -213,14 +285,14 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     @Override
     public void onRequestNewToken(StringeeClient stringeeClient) {
-        if (contains(jsEvents, "onRequestNewToken")) {
+        if (canSend("onRequestNewToken")) {
             sendEvent(getReactApplicationContext(), "onRequestNewToken", null);
         }
     }
 
     @Override
     public void onCustomMessage(String s, JSONObject jsonObject) {
-        if (contains(jsEvents, "onCustomMessage")) {
+        if (canSend("onCustomMessage")) {
             WritableMap params = Arguments.createMap();
             params.putString("from", s);
             params.putString("data", jsonObject.toString());
@@ -233,15 +305,38 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     }
 
+    private boolean canSend(String eventName) {
+        return jsEvents.contains(eventName) || replayBuffer.accepts(eventName);
+    }
+
     private void sendEvent(ReactContext reactContext, String eventName, @Nullable WritableMap eventData) {
-        reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit(eventName, eventData);
+        synchronized (replayBuffer) {
+            if (!jsEvents.contains(eventName)) {
+                replayBuffer.offer(eventName, eventData);
+                return;
+            }
+            StringeeManager.getInstance().getEventEmitter().emit(reactContext, eventName, eventData);
+        }
+    }
+
+    // Called with the replay buffer lock held, so no event can slip in between the drain and the subscription.
+    private void replayEvents(String eventName) {
+        List<WritableMap> events = replayBuffer.drain(eventName);
+        for (int i = 0; i < events.size(); i++) {
+            StringeeManager.getInstance().getEventEmitter().emit(getReactApplicationContext(), eventName, events.get(i));
+        }
     }
 
     @ReactMethod
     public void setNativeEvent(String event) {
-        jsEvents.add(event);
+        synchronized (replayBuffer) {
+            if (jsEvents.add(event)) {
+                replayEvents(event);
+                if ("onIncomingCall".equals(event)) {
+                    replayIncomingCalls();
+                }
+            }
+        }
     }
 
     @ReactMethod
@@ -249,18 +344,9 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         jsEvents.remove(event);
     }
 
-    private boolean contains(ArrayList array, String value) {
-
-        for (int i = 0; i < array.size(); i++) {
-            if (array.get(i).equals(value)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @ReactMethod
-    public void createConversation(ReadableArray usersArray, ReadableMap optionsMap, final Callback callback) {
+    public void createConversation(ReadableArray usersArray, ReadableMap optionsMap, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.createConversation", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -289,42 +375,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.createConversation(participants, convOptions, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
-                WritableMap params = Arguments.createMap();
-                params.putString("id", conversation.getId());
-                params.putString("localId", conversation.getLocalId());
-                params.putString("name", conversation.getName());
-                params.putBoolean("isDistinct", conversation.isDistinct());
-                params.putBoolean("isGroup", conversation.isGroup());
-                params.putDouble("updatedAt", conversation.getUpdateAt());
-                params.putString("lastMsgSender", conversation.getLastMsgSender());
-                params.putInt("lastMsgType", conversation.getLastMsgType());
-                params.putInt("unreadCount", conversation.getTotalUnread());
-                params.putString("lastMsgId", conversation.getLastMsgId());
-                params.putString("creator", conversation.getCreator());
-                params.putDouble("created", conversation.getCreateAt());
-                params.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                params.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                params.putInt("lastMsgState", conversation.getLastMsgState());
-                if (conversation.getLastMsg() != null) {
-                    try {
-                        Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                        WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                        params.putMap("text", lastMsgMap);
-                    } catch (JSONException e) {
-                        e.printStackTrace();
-                    }
-                }
-                List<User> participants = conversation.getParticipants();
-                WritableArray participantsMap = Arguments.createArray();
-                for (int i = 0; i < participants.size(); i++) {
-                    User user = participants.get(i);
-                    WritableMap userMap = Arguments.createMap();
-                    userMap.putString("userId", user.getUserId());
-                    userMap.putString("name", user.getName());
-                    userMap.putString("avatar", user.getAvatarUrl());
-                    participantsMap.pushMap(userMap);
-                }
-                params.putArray("participants", participantsMap);
+                mStringeeManager.getConversationCache().put(conversation);
+                WritableMap params = StringeeChatSerializer.conversationToMap(conversation);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -336,7 +388,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getConversationById(String id, final Callback callback) {
+    public void getConversationById(String id, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getConversationById", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -350,43 +403,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getConversation(id, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
-                WritableMap params = Arguments.createMap();
-                params.putString("id", conversation.getId());
-                params.putString("localId", conversation.getLocalId());
-                params.putString("name", conversation.getName());
-                params.putBoolean("isDistinct", conversation.isDistinct());
-                params.putBoolean("isGroup", conversation.isGroup());
-                params.putDouble("updatedAt", conversation.getUpdateAt());
-                params.putString("lastMsgSender", conversation.getLastMsgSender());
-                params.putString("text", conversation.getText());
-                params.putInt("lastMsgType", conversation.getLastMsgType());
-                params.putInt("unreadCount", conversation.getTotalUnread());
-                params.putString("lastMsgId", conversation.getLastMsgId());
-                params.putString("creator", conversation.getCreator());
-                params.putDouble("created", conversation.getCreateAt());
-                params.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                params.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                params.putInt("lastMsgState", conversation.getLastMsgState());
-                if (conversation.getLastMsg() != null) {
-                    try {
-                        Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                        WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                        params.putMap("text", lastMsgMap);
-                    } catch (JSONException e) {
-                        e.printStackTrace();
-                    }
-                }
-                List<User> participants = conversation.getParticipants();
-                WritableArray participantsMap = Arguments.createArray();
-                for (int i = 0; i < participants.size(); i++) {
-                    User user = participants.get(i);
-                    WritableMap userMap = Arguments.createMap();
-                    userMap.putString("userId", user.getUserId());
-                    userMap.putString("name", user.getName());
-                    userMap.putString("avatar", user.getAvatarUrl());
-                    participantsMap.pushMap(userMap);
-                }
-                params.putArray("participants", participantsMap);
+                mStringeeManager.getConversationCache().put(conversation);
+                WritableMap params = StringeeChatSerializer.conversationToMap(conversation);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -398,7 +416,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getLocalConversations(String userId, final Callback callback) {
+    public void getLocalConversations(String userId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getLocalConversations", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -412,49 +431,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getLocalConversations(userId, new CallbackListener<List<Conversation>>() {
             @Override
             public void onSuccess(List<Conversation> conversations) {
-                WritableArray params = Arguments.createArray();
-                for (int i = 0; i < conversations.size(); i++) {
-                    Conversation conversation = conversations.get(i);
-                    WritableMap param = Arguments.createMap();
-                    param.putString("id", conversation.getId());
-                    param.putString("localId", conversation.getLocalId());
-                    param.putString("name", conversation.getName());
-                    param.putBoolean("isDistinct", conversation.isDistinct());
-                    param.putBoolean("isGroup", conversation.isGroup());
-                    param.putDouble("updatedAt", conversation.getUpdateAt());
-                    param.putString("lastMsgSender", conversation.getLastMsgSender());
-                    param.putString("text", conversation.getText());
-                    param.putInt("lastMsgType", conversation.getLastMsgType());
-                    param.putInt("unreadCount", conversation.getTotalUnread());
-                    param.putString("lastMsgId", conversation.getLastMsgId());
-                    param.putString("creator", conversation.getCreator());
-                    param.putDouble("created", conversation.getCreateAt());
-                    param.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                    param.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                    param.putInt("lastMsgState", conversation.getLastMsgState());
-                    if (conversation.getLastMsg() != null) {
-                        try {
-                            Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                            WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                            param.putMap("text", lastMsgMap);
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    List<User> participants = conversation.getParticipants();
-                    WritableArray participantsMap = Arguments.createArray();
-                    for (int j = 0; j < participants.size(); j++) {
-                        User user = participants.get(j);
-                        WritableMap userMap = Arguments.createMap();
-                        userMap.putString("userId", user.getUserId());
-                        userMap.putString("name", user.getName());
-                        userMap.putString("avatar", user.getAvatarUrl());
-                        participantsMap.pushMap(userMap);
-                    }
-                    param.putArray("participants", participantsMap);
-
-                    params.pushMap(param);
-                }
+                mStringeeManager.getConversationCache().putAll(conversations);
+                WritableArray params = StringeeChatSerializer.conversationsToArray(conversations);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -466,7 +444,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getLastConversations(int count, final Callback callback) {
+    public void getLastConversations(int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getLastConversations", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -475,49 +454,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getLastConversations(count, new CallbackListener<List<Conversation>>() {
             @Override
             public void onSuccess(List<Conversation> conversations) {
-                WritableArray params = Arguments.createArray();
-                for (int i = 0; i < conversations.size(); i++) {
-                    Conversation conversation = conversations.get(i);
-                    WritableMap param = Arguments.createMap();
-                    param.putString("id", conversation.getId());
-                    param.putString("localId", conversation.getLocalId());
-                    param.putString("name", conversation.getName());
-                    param.putBoolean("isDistinct", conversation.isDistinct());
-                    param.putBoolean("isGroup", conversation.isGroup());
-                    param.putDouble("updatedAt", conversation.getUpdateAt());
-                    param.putString("lastMsgSender", conversation.getLastMsgSender());
-                    param.putString("text", conversation.getText());
-                    param.putInt("lastMsgType", conversation.getLastMsgType());
-                    param.putInt("unreadCount", conversation.getTotalUnread());
-                    param.putString("lastMsgId", conversation.getLastMsgId());
-                    param.putString("creator", conversation.getCreator());
-                    param.putDouble("created", conversation.getCreateAt());
-                    param.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                    param.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                    param.putInt("lastMsgState", conversation.getLastMsgState());
-                    if (conversation.getLastMsg() != null) {
-                        try {
-                            Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                            WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                            param.putMap("text", lastMsgMap);
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    List<User> participants = conversation.getParticipants();
-                    WritableArray participantsMap = Arguments.createArray();
-                    for (int j = 0; j < participants.size(); j++) {
-                        User user = participants.get(j);
-                        WritableMap userMap = Arguments.createMap();
-                        userMap.putString("userId", user.getUserId());
-                        userMap.putString("name", user.getName());
-                        userMap.putString("avatar", user.getAvatarUrl());
-                        participantsMap.pushMap(userMap);
-                    }
-                    param.putArray("participants", participantsMap);
-
-                    params.pushMap(param);
-                }
+                mStringeeManager.getConversationCache().putAll(conversations);
+                WritableArray params = StringeeChatSerializer.conversationsToArray(conversations);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -529,7 +467,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getConversationsBefore(double datetime, int count, final Callback callback) {
+    public void getConversationsBefore(double datetime, int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getConversationsBefore", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -538,49 +477,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getConversationsBefore((long) datetime, count, new CallbackListener<List<Conversation>>() {
             @Override
             public void onSuccess(List<Conversation> conversations) {
-                WritableArray params = Arguments.createArray();
-                for (int i = 0; i < conversations.size(); i++) {
-                    Conversation conversation = conversations.get(i);
-                    WritableMap param = Arguments.createMap();
-                    param.putString("id", conversation.getId());
-                    param.putString("localId", conversation.getLocalId());
-                    param.putString("name", conversation.getName());
-                    param.putBoolean("isDistinct", conversation.isDistinct());
-                    param.putBoolean("isGroup", conversation.isGroup());
-                    param.putDouble("updatedAt", conversation.getUpdateAt());
-                    param.putString("lastMsgSender", conversation.getLastMsgSender());
-                    param.putString("text", conversation.getText());
-                    param.putInt("lastMsgType", conversation.getLastMsgType());
-                    param.putInt("unreadCount", conversation.getTotalUnread());
-                    param.putString("lastMsgId", conversation.getLastMsgId());
-                    param.putString("creator", conversation.getCreator());
-                    param.putDouble("created", conversation.getCreateAt());
-                    param.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                    param.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                    param.putInt("lastMsgState", conversation.getLastMsgState());
-                    if (conversation.getLastMsg() != null) {
-                        try {
-                            Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                            WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                            param.putMap("text", lastMsgMap);
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    List<User> participants = conversation.getParticipants();
-                    WritableArray participantsMap = Arguments.createArray();
-                    for (int j = 0; j < participants.size(); j++) {
-                        User user = participants.get(j);
-                        WritableMap userMap = Arguments.createMap();
-                        userMap.putString("userId", user.getUserId());
-                        userMap.putString("name", user.getName());
-                        userMap.putString("avatar", user.getAvatarUrl());
-                        participantsMap.pushMap(userMap);
-                    }
-                    param.putArray("participants", participantsMap);
-
-                    params.pushMap(param);
-                }
+                mStringeeManager.getConversationCache().putAll(conversations);
+                WritableArray params = StringeeChatSerializer.conversationsToArray(conversations);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -592,7 +490,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getConversationsAfter(double datetime, int count, final Callback callback) {
+    public void getConversationsAfter(double datetime, int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getConversationsAfter", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -601,49 +500,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getConversationsAfter((long) datetime, count, new CallbackListener<List<Conversation>>() {
             @Override
             public void onSuccess(List<Conversation> conversations) {
-                WritableArray params = Arguments.createArray();
-                for (int i = 0; i < conversations.size(); i++) {
-                    Conversation conversation = conversations.get(i);
-                    WritableMap param = Arguments.createMap();
-                    param.putString("id", conversation.getId());
-                    param.putString("localId", conversation.getLocalId());
-                    param.putString("name", conversation.getName());
-                    param.putBoolean("isDistinct", conversation.isDistinct());
-                    param.putBoolean("isGroup", conversation.isGroup());
-                    param.putDouble("updatedAt", conversation.getUpdateAt());
-                    param.putString("lastMsgSender", conversation.getLastMsgSender());
-                    param.putString("text", conversation.getText());
-                    param.putInt("lastMsgType", conversation.getLastMsgType());
-                    param.putInt("unreadCount", conversation.getTotalUnread());
-                    param.putString("lastMsgId", conversation.getLastMsgId());
-                    param.putString("creator", conversation.getCreator());
-                    param.putDouble("created", conversation.getCreateAt());
-                    param.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                    param.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                    param.putInt("lastMsgState", conversation.getLastMsgState());
-                    if (conversation.getLastMsg() != null) {
-                        try {
-                            Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                            WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                            param.putMap("text", lastMsgMap);
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                    }
-                    List<User> participants = conversation.getParticipants();
-                    WritableArray participantsMap = Arguments.createArray();
-                    for (int j = 0; j < participants.size(); j++) {
-                        User user = participants.get(j);
-                        WritableMap userMap = Arguments.createMap();
-                        userMap.putString("userId", user.getUserId());
-                        userMap.putString("name", user.getName());
-                        userMap.putString("avatar", user.getAvatarUrl());
-                        participantsMap.pushMap(userMap);
-                    }
-                    param.putArray("participants", participantsMap);
-
-                    params.pushMap(param);
-                }
+                mStringeeManager.getConversationCache().putAll(conversations);
+                WritableArray params = StringeeChatSerializer.conversationsToArray(conversations);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -655,13 +513,110 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void deleteConversation(String convId, final Callback callback) {
+    public void openConversationCursor(ReadableMap options, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.openConversationCursor", jsCallback);
+        boolean isBefore = true;
+        int chunkSize = StringeeConversationCursor.DEFAULT_CHUNK_SIZE;
+        if (options != null) {
+            if (options.hasKey("direction")) {
+                isBefore = !"after".equals(options.getString("direction"));
+            }
+            if (options.hasKey("chunkSize")) {
+                chunkSize = options.getInt("chunkSize");
+            }
+        }
+
+        String cursorId = "cursor_" + cursorCounter.incrementAndGet();
+        StringeeConversationCursor cursor = new StringeeConversationCursor(cursorId, isBefore, chunkSize);
+        if (options != null && options.hasKey("datetime")) {
+            cursor.setDatetime((long) options.getDouble("datetime"));
+        }
+        conversationCursors.put(cursorId, cursor);
+        callback.invoke(true, 0, "Success", cursorId);
+    }
+
+    @ReactMethod
+    public void fetchConversationCursor(String cursorId, final int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.fetchConversationCursor", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        final StringeeConversationCursor cursor = cursorId != null ? conversationCursors.get(cursorId) : null;
+        if (cursor == null || cursor.isExpired()) {
+            if (cursor != null) {
+                conversationCursors.remove(cursorId);
+            }
+            callback.invoke(false, -2, "The cursor is not found");
+            return;
+        }
+
+        if (!cursor.beginFetch()) {
+            callback.invoke(false, -3, "The cursor is already fetching");
+            return;
+        }
+
+        CallbackListener<List<Conversation>> listener = new CallbackListener<List<Conversation>>() {
+            @Override
+            public void onSuccess(List<Conversation> conversations) {
+                mStringeeManager.getConversationCache().putAll(conversations);
+                cursor.advance(conversations);
+
+                // Ship every chunk as soon as it is serialized instead of waiting for the whole page.
+                int chunkSize = cursor.getChunkSize();
+                int size = conversations.size();
+                for (int start = 0; start < size; start += chunkSize) {
+                    int end = Math.min(start + chunkSize, size);
+                    WritableMap params = Arguments.createMap();
+                    params.putString("cursorId", cursor.getId());
+                    params.putArray("conversations", StringeeChatSerializer.conversationsToArray(conversations.subList(start, end)));
+                    params.putBoolean("isLast", end == size);
+                    // Chunks answer this fetch, they are not a subscription, so they bypass the jsEvents gate,
+                    // and they skip batching so each one reaches JS as soon as it is ready.
+                    mStringeeManager.getEventEmitter().emitNow(getReactApplicationContext(), "onConversationCursorChunk", params);
+                }
+
+                cursor.endFetch();
+                callback.invoke(true, 0, "Success", size, size >= count);
+            }
+
+            @Override
+            public void onError(StringeeError error) {
+                cursor.endFetch();
+                callback.invoke(false, error.getCode(), error.getMessage());
+            }
+        };
+
+        if (!cursor.hasDatetime()) {
+            if (cursor.isBefore()) {
+                mClient.getLastConversations(count, listener);
+            } else {
+                mClient.getConversationsAfter(0, count, listener);
+            }
+        } else if (cursor.isBefore()) {
+            mClient.getConversationsBefore(cursor.getDatetime(), count, listener);
+        } else {
+            mClient.getConversationsAfter(cursor.getDatetime(), count, listener);
+        }
+    }
+
+    @ReactMethod
+    public void closeConversationCursor(String cursorId) {
+        if (cursorId != null) {
+            conversationCursors.remove(cursorId);
+        }
+    }
+
+    @ReactMethod
+    public void deleteConversation(String convId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.deleteConversation", jsCallback);
+        if (mClient == null) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected");
+            return;
+        }
+
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(final Conversation conversation) {
                 if (conversation.isGroup()) {
@@ -673,6 +628,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
                 conversation.delete(mClient, new StatusListener() {
                     @Override
                     public void onSuccess() {
+                        mStringeeManager.getConversationCache().remove(conversation.getId());
                         callback.invoke(true, 0, "Success");
                     }
 
@@ -691,13 +647,14 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void addParticipants(String convId, final ReadableArray usersArray, final Callback callback) {
+    public void addParticipants(String convId, final ReadableArray usersArray, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.addParticipants", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 List<User> users = new ArrayList<>();
@@ -708,16 +665,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
                 conversation.addParticipants(mClient, users, new CallbackListener<List<User>>() {
                     @Override
                     public void onSuccess(List<User> users) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < users.size(); i++) {
-                            User user = users.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("userId", user.getUserId());
-                            param.putString("name", user.getName());
-                            param.putString("avatar", user.getAvatarUrl());
-                            params.pushMap(param);
-                        }
-
+                        WritableArray params = StringeeChatSerializer.usersToArray(users);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -736,13 +684,14 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void removeParticipants(String convId, final ReadableArray usersArray, final Callback callback) {
+    public void removeParticipants(String convId, final ReadableArray usersArray, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.removeParticipants", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 List<User> users = new ArrayList<>();
@@ -753,16 +702,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
                 conversation.removeParticipants(mClient, users, new CallbackListener<List<User>>() {
                     @Override
                     public void onSuccess(List<User> users) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < users.size(); i++) {
-                            User user = users.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("userId", user.getUserId());
-                            param.putString("name", user.getName());
-                            param.putString("avatar", user.getAvatarUrl());
-                            params.pushMap(param);
-                        }
-
+                        WritableArray params = StringeeChatSerializer.usersToArray(users);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -781,7 +721,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void sendMessage(ReadableMap messageMap, final Callback callback) {
+    public void sendMessage(ReadableMap messageMap, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.sendMessage", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -791,49 +732,10 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         final int type = messageMap.getInt("type");
         final ReadableMap msgMap = messageMap.getMap("message");
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
-                Message message = new Message(type);
-                switch (type) {
-                    case 1:
-                        message = new Message(msgMap.getString("content"));
-                        break;
-                    case 2:
-                        message.setFileUrl(msgMap.getString("filePath"));
-                        message.setThumbnailUrl(msgMap.getString("thumbnail"));
-                        message.setImageRatio((float) msgMap.getDouble("ratio"));
-                        break;
-                    case 3:
-                        message.setFileUrl(msgMap.getString("filePath"));
-                        message.setThumbnailUrl(msgMap.getString("thumbnail"));
-                        message.setImageRatio((float) msgMap.getDouble("ratio"));
-                        message.setDuration(msgMap.getInt("duration"));
-                        break;
-                    case 4:
-                        message.setFileUrl(msgMap.getString("filePath"));
-                        message.setDuration(msgMap.getInt("duration"));
-                        break;
-                    case 5:
-                        message.setFileUrl(msgMap.getString("filePath"));
-                        message.setFileName(msgMap.getString("filename"));
-                        message.setFileLength(msgMap.getInt("length"));
-                        break;
-                    case 9:
-                        message.setLatitude(msgMap.getDouble("lat"));
-                        message.setLongitude(msgMap.getDouble("lon"));
-                        break;
-                    case 10:
-                        message.setContact(msgMap.getString("vcard"));
-                        break;
-                    case 11:
-                        message.setStickerCategory(msgMap.getString("category"));
-                        message.setStickerName(msgMap.getString("name"));
-                        break;
-                    default:
-                        break;
-                }
-
+                Message message = StringeeChatSerializer.createMessage(type, msgMap);
                 conversation.sendMessage(mClient, message, new StatusListener() {
                     @Override
                     public void onSuccess() {
@@ -855,107 +757,145 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getLocalMessages(String convId, final int count, final Callback callback) {
+    public void sendMessages(final ReadableArray messagesArray, final int maxInFlight, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.sendMessages", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        final int count = messagesArray.size();
+        final WritableMap[] results = new WritableMap[count];
+        final Message[] messages = new Message[count];
+        // Messages of one conversation are sent one after another to keep their order,
+        // the in-flight window applies across conversations.
+        final Map<String, List<Integer>> groups = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            ReadableMap messageMap = messagesArray.getMap(i);
+            if (messageMap == null || !messageMap.hasKey("convId") || !messageMap.hasKey("type") || !messageMap.hasKey("message")) {
+                results[i] = messageResult(i, false, -2, "The message format is invalid");
+                continue;
+            }
+            String convId = messageMap.getString("convId");
+            messages[i] = StringeeChatSerializer.createMessage(messageMap.getInt("type"), messageMap.getMap("message"));
+            List<Integer> indexes = groups.get(convId);
+            if (indexes == null) {
+                indexes = new ArrayList<>();
+                groups.put(convId, indexes);
+            }
+            indexes.add(i);
+        }
+
+        final List<String> convIds = new ArrayList<>(groups.keySet());
+        StringeeBatchOperation sendOperation = new StringeeBatchOperation(convIds.size(), maxInFlight, new StringeeBatchOperation.Task() {
+            @Override
+            public void run(final int index, final StringeeBatchOperation operation) {
+                final List<Integer> indexes = groups.get(convIds.get(index));
+                getConversation(convIds.get(index), new CallbackListener<Conversation>() {
+                    @Override
+                    public void onSuccess(Conversation conversation) {
+                        if (conversation == null) {
+                            failMessages(indexes, results, -3, "The conversation is not found");
+                            operation.complete(index, false, -3, "The conversation is not found");
+                            return;
+                        }
+                        sendInOrder(conversation, messages, indexes, 0, results, new Runnable() {
+                            @Override
+                            public void run() {
+                                operation.complete(index, true, 0, "Success");
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(StringeeError error) {
+                        failMessages(indexes, results, error.getCode(), error.getMessage());
+                        operation.complete(index, false, error.getCode(), error.getMessage());
+                    }
+                });
+            }
+        }, new StringeeBatchOperation.CompletionListener() {
+            @Override
+            public void onComplete(int failedConversations, WritableArray conversationResults) {
+                int failedCount = 0;
+                WritableArray resultsArray = Arguments.createArray();
+                synchronized (results) {
+                    for (int i = 0; i < count; i++) {
+                        if (!results[i].getBoolean("status")) {
+                            failedCount++;
+                        }
+                        resultsArray.pushMap(results[i]);
+                    }
+                }
+                if (failedCount == 0) {
+                    callback.invoke(true, 0, "Success", resultsArray);
+                } else {
+                    callback.invoke(false, -3, failedCount + " of " + count + " messages could not be sent", resultsArray);
+                }
+            }
+        });
+        sendOperation.start();
+    }
+
+    private void sendInOrder(final Conversation conversation, final Message[] messages, final List<Integer> indexes, final int position,
+                             final WritableMap[] results, final Runnable done) {
+        if (position >= indexes.size()) {
+            done.run();
+            return;
+        }
+
+        final int index = indexes.get(position);
+        conversation.sendMessage(mClient, messages[index], new StatusListener() {
+            @Override
+            public void onSuccess() {
+                setResult(results, index, messageResult(index, true, 0, "Success"));
+                sendInOrder(conversation, messages, indexes, position + 1, results, done);
+            }
+
+            @Override
+            public void onError(StringeeError error) {
+                setResult(results, index, messageResult(index, false, error.getCode(), error.getMessage()));
+                sendInOrder(conversation, messages, indexes, position + 1, results, done);
+            }
+        });
+    }
+
+    private void failMessages(List<Integer> indexes, WritableMap[] results, int code, String message) {
+        for (int i = 0; i < indexes.size(); i++) {
+            setResult(results, indexes.get(i), messageResult(indexes.get(i), false, code, message));
+        }
+    }
+
+    private void setResult(WritableMap[] results, int index, WritableMap result) {
+        synchronized (results) {
+            results[index] = result;
+        }
+    }
+
+    private WritableMap messageResult(int index, boolean status, int code, String message) {
+        WritableMap result = Arguments.createMap();
+        result.putInt("index", index);
+        result.putBoolean("status", status);
+        result.putInt("code", code);
+        result.putString("message", message);
+        return result;
+    }
+
+    @ReactMethod
+    public void getLocalMessages(String convId, final int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getLocalMessages", jsCallback);
+        if (mClient == null) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected");
+            return;
+        }
+
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 conversation.getLocalMessages(mClient, count, new CallbackListener<List<Message>>() {
                     @Override
                     public void onSuccess(List<Message> messages) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < messages.size(); i++) {
-                            Message message = messages.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("id", message.getId());
-                            param.putString("localId", message.getLocalId());
-                            param.putString("conversationId", message.getConversationId());
-                            param.putDouble("createdAt", message.getCreatedAt());
-                            param.putInt("state", message.getState().getValue());
-                            param.putDouble("sequence", message.getSequence());
-                            param.putInt("type", message.getType());
-                            WritableMap contentMap = Arguments.createMap();
-                            switch (message.getType()) {
-                                case 1:
-                                    contentMap.putString("content", message.getText());
-                                    break;
-                                case 2:
-                                    WritableMap photoMap = Arguments.createMap();
-                                    photoMap.putString("filePath", message.getFileUrl());
-                                    photoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    photoMap.putDouble("ratio", message.getImageRatio());
-                                    contentMap.putMap("photo", photoMap);
-                                    break;
-                                case 3:
-                                    WritableMap videoMap = Arguments.createMap();
-                                    videoMap.putString("filePath", message.getFileUrl());
-                                    videoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    videoMap.putDouble("ratio", message.getImageRatio());
-                                    videoMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("video", videoMap);
-                                    break;
-                                case 4:
-                                    WritableMap audioMap = Arguments.createMap();
-                                    audioMap.putString("filePath", message.getFileUrl());
-                                    audioMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("audio", audioMap);
-                                    break;
-                                case 5:
-                                    WritableMap fileMap = Arguments.createMap();
-                                    fileMap.putString("filePath", message.getFileUrl());
-                                    fileMap.putString("filename", message.getFileName());
-                                    fileMap.putDouble("length", message.getFileLength());
-                                    contentMap.putMap("file", fileMap);
-                                    break;
-                                case 7:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                                case 9:
-                                    WritableMap locationMap = Arguments.createMap();
-                                    locationMap.putDouble("lat", message.getLatitude());
-                                    locationMap.putDouble("lon", message.getLongitude());
-                                    contentMap.putMap("location", locationMap);
-                                    break;
-                                case 10:
-                                    WritableMap contactMap = Arguments.createMap();
-                                    contactMap.putString("vcard", message.getContact());
-                                    contentMap.putMap("contact", contactMap);
-                                    break;
-                                case 11:
-                                    WritableMap stickerMap = Arguments.createMap();
-                                    stickerMap.putString("name", message.getStickerName());
-                                    stickerMap.putString("category", message.getStickerCategory());
-                                    contentMap.putMap("sticker", stickerMap);
-                                    break;
-                                case 100:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                            }
-                            param.putMap("content", contentMap);
-                            String senderId = message.getSenderId();
-                            User user = mClient.getUser(senderId);
-                            String name = "";
-                            if (user != null) {
-                                name = user.getName();
-                                if (name == null || name.length() == 0) {
-                                    name = user.getUserId();
-                                }
-                            }
-                            param.putString("sender", name);
-                            params.pushMap(param);
-                        }
+                        WritableArray params = StringeeChatSerializer.messagesToArray(messages, mClient);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -974,107 +914,20 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getLastMessages(String convId, final int count, final Callback callback) {
+    public void getLastMessages(String convId, final int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getLastMessages", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 conversation.getLastMessages(mClient, count, new CallbackListener<List<Message>>() {
                     @Override
                     public void onSuccess(List<Message> messages) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < messages.size(); i++) {
-                            Message message = messages.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("id", message.getId());
-                            param.putString("localId", message.getLocalId());
-                            param.putString("conversationId", message.getConversationId());
-                            param.putDouble("createdAt", message.getCreatedAt());
-                            param.putInt("state", message.getState().getValue());
-                            param.putDouble("sequence", message.getSequence());
-                            param.putInt("type", message.getType());
-                            WritableMap contentMap = Arguments.createMap();
-                            switch (message.getType()) {
-                                case 1:
-                                    contentMap.putString("content", message.getText());
-                                    break;
-                                case 2:
-                                    WritableMap photoMap = Arguments.createMap();
-                                    photoMap.putString("filePath", message.getFileUrl());
-                                    photoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    photoMap.putDouble("ratio", message.getImageRatio());
-                                    contentMap.putMap("photo", photoMap);
-                                    break;
-                                case 3:
-                                    WritableMap videoMap = Arguments.createMap();
-                                    videoMap.putString("filePath", message.getFileUrl());
-                                    videoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    videoMap.putDouble("ratio", message.getImageRatio());
-                                    videoMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("video", videoMap);
-                                    break;
-                                case 4:
-                                    WritableMap audioMap = Arguments.createMap();
-                                    audioMap.putString("filePath", message.getFileUrl());
-                                    audioMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("audio", audioMap);
-                                    break;
-                                case 5:
-                                    WritableMap fileMap = Arguments.createMap();
-                                    fileMap.putString("filePath", message.getFileUrl());
-                                    fileMap.putString("filename", message.getFileName());
-                                    fileMap.putDouble("length", message.getFileLength());
-                                    contentMap.putMap("file", fileMap);
-                                    break;
-                                case 7:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                                case 9:
-                                    WritableMap locationMap = Arguments.createMap();
-                                    locationMap.putDouble("lat", message.getLatitude());
-                                    locationMap.putDouble("lon", message.getLongitude());
-                                    contentMap.putMap("location", locationMap);
-                                    break;
-                                case 10:
-                                    WritableMap contactMap = Arguments.createMap();
-                                    contactMap.putString("vcard", message.getContact());
-                                    contentMap.putMap("contact", contactMap);
-                                    break;
-                                case 11:
-                                    WritableMap stickerMap = Arguments.createMap();
-                                    stickerMap.putString("name", message.getStickerName());
-                                    stickerMap.putString("category", message.getStickerCategory());
-                                    contentMap.putMap("sticker", stickerMap);
-                                    break;
-                                case 100:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                            }
-                            param.putMap("content", contentMap);
-                            String senderId = message.getSenderId();
-                            User user = mClient.getUser(senderId);
-                            String name = "";
-                            if (user != null) {
-                                name = user.getName();
-                                if (name == null || name.length() == 0) {
-                                    name = user.getUserId();
-                                }
-                            }
-                            param.putString("sender", name);
-                            params.pushMap(param);
-                        }
+                        WritableArray params = StringeeChatSerializer.messagesToArray(messages, mClient);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -1094,107 +947,20 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
 
     @ReactMethod
-    public void getMessagesAfter(String convId, final int sequence, final int count, final Callback callback) {
+    public void getMessagesAfter(String convId, final int sequence, final int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getMessagesAfter", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 conversation.getMessagesAfter(mClient, sequence, count, new CallbackListener<List<Message>>() {
                     @Override
                     public void onSuccess(List<Message> messages) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < messages.size(); i++) {
-                            Message message = messages.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("id", message.getId());
-                            param.putString("localId", message.getLocalId());
-                            param.putString("conversationId", message.getConversationId());
-                            param.putDouble("createdAt", message.getCreatedAt());
-                            param.putInt("state", message.getState().getValue());
-                            param.putDouble("sequence", message.getSequence());
-                            param.putInt("type", message.getType());
-                            WritableMap contentMap = Arguments.createMap();
-                            switch (message.getType()) {
-                                case 1:
-                                    contentMap.putString("content", message.getText());
-                                    break;
-                                case 2:
-                                    WritableMap photoMap = Arguments.createMap();
-                                    photoMap.putString("filePath", message.getFileUrl());
-                                    photoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    photoMap.putDouble("ratio", message.getImageRatio());
-                                    contentMap.putMap("photo", photoMap);
-                                    break;
-                                case 3:
-                                    WritableMap videoMap = Arguments.createMap();
-                                    videoMap.putString("filePath", message.getFileUrl());
-                                    videoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    videoMap.putDouble("ratio", message.getImageRatio());
-                                    videoMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("video", videoMap);
-                                    break;
-                                case 4:
-                                    WritableMap audioMap = Arguments.createMap();
-                                    audioMap.putString("filePath", message.getFileUrl());
-                                    audioMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("audio", audioMap);
-                                    break;
-                                case 5:
-                                    WritableMap fileMap = Arguments.createMap();
-                                    fileMap.putString("filePath", message.getFileUrl());
-                                    fileMap.putString("filename", message.getFileName());
-                                    fileMap.putDouble("length", message.getFileLength());
-                                    contentMap.putMap("file", fileMap);
-                                    break;
-                                case 7:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                                case 9:
-                                    WritableMap locationMap = Arguments.createMap();
-                                    locationMap.putDouble("lat", message.getLatitude());
-                                    locationMap.putDouble("lon", message.getLongitude());
-                                    contentMap.putMap("location", locationMap);
-                                    break;
-                                case 10:
-                                    WritableMap contactMap = Arguments.createMap();
-                                    contactMap.putString("vcard", message.getContact());
-                                    contentMap.putMap("contact", contactMap);
-                                    break;
-                                case 11:
-                                    WritableMap stickerMap = Arguments.createMap();
-                                    stickerMap.putString("name", message.getStickerName());
-                                    stickerMap.putString("category", message.getStickerCategory());
-                                    contentMap.putMap("sticker", stickerMap);
-                                    break;
-                                case 100:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                            }
-                            param.putMap("content", contentMap);
-                            String senderId = message.getSenderId();
-                            User user = mClient.getUser(senderId);
-                            String name = "";
-                            if (user != null) {
-                                name = user.getName();
-                                if (name == null || name.length() == 0) {
-                                    name = user.getUserId();
-                                }
-                            }
-                            param.putString("sender", name);
-                            params.pushMap(param);
-                        }
+                        WritableArray params = StringeeChatSerializer.messagesToArray(messages, mClient);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -1213,108 +979,20 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getMessagesBefore(String convId, final int sequence, final int count, final Callback callback) {
+    public void getMessagesBefore(String convId, final int sequence, final int count, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getMessagesBefore", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 conversation.getMessagesBefore(mClient, sequence, count, new CallbackListener<List<Message>>() {
                     @Override
                     public void onSuccess(List<Message> messages) {
-                        WritableArray params = Arguments.createArray();
-                        for (int i = 0; i < messages.size(); i++) {
-                            Message message = messages.get(i);
-                            WritableMap param = Arguments.createMap();
-                            param.putString("id", message.getId());
-                            param.putString("localId", message.getLocalId());
-                            param.putString("conversationId", message.getConversationId());
-                            param.putDouble("createdAt", message.getCreatedAt());
-                            param.putInt("state", message.getState().getValue());
-                            param.putDouble("sequence", message.getSequence());
-                            param.putInt("type", message.getType());
-                            WritableMap contentMap = Arguments.createMap();
-                            switch (message.getType()) {
-                                case 1:
-                                    contentMap.putString("content", message.getText());
-                                    break;
-                                case 2:
-                                    WritableMap photoMap = Arguments.createMap();
-                                    photoMap.putString("filePath", message.getFileUrl());
-                                    photoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    photoMap.putDouble("ratio", message.getImageRatio());
-                                    contentMap.putMap("photo", photoMap);
-                                    break;
-                                case 3:
-                                    WritableMap videoMap = Arguments.createMap();
-                                    videoMap.putString("filePath", message.getFileUrl());
-                                    videoMap.putString("thumbnail", message.getThumbnailUrl());
-                                    videoMap.putDouble("ratio", message.getImageRatio());
-                                    videoMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("video", videoMap);
-                                    break;
-                                case 4:
-                                    WritableMap audioMap = Arguments.createMap();
-                                    audioMap.putString("filePath", message.getFileUrl());
-                                    audioMap.putInt("duration", message.getDuration());
-                                    contentMap.putMap("audio", audioMap);
-                                    break;
-                                case 5:
-                                    WritableMap fileMap = Arguments.createMap();
-                                    fileMap.putString("filePath", message.getFileUrl());
-                                    fileMap.putString("filename", message.getFileName());
-                                    fileMap.putDouble("length", message.getFileLength());
-                                    contentMap.putMap("file", fileMap);
-                                    break;
-                                case 7:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-
-                                case 9:
-                                    WritableMap locationMap = Arguments.createMap();
-                                    locationMap.putDouble("lat", message.getLatitude());
-                                    locationMap.putDouble("lon", message.getLongitude());
-                                    contentMap.putMap("location", locationMap);
-                                    break;
-                                case 10:
-                                    WritableMap contactMap = Arguments.createMap();
-                                    contactMap.putString("vcard", message.getContact());
-                                    contentMap.putMap("contact", contactMap);
-                                    break;
-                                case 11:
-                                    WritableMap stickerMap = Arguments.createMap();
-                                    stickerMap.putString("name", message.getStickerName());
-                                    stickerMap.putString("category", message.getStickerCategory());
-                                    contentMap.putMap("sticker", stickerMap);
-                                    break;
-                                case 100:
-                                    try {
-                                        contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                                    } catch (JSONException e) {
-                                        e.printStackTrace();
-                                    }
-                                    break;
-                            }
-                            param.putMap("content", contentMap);
-                            String senderId = message.getSenderId();
-                            User user = mClient.getUser(senderId);
-                            String name = "";
-                            if (user != null) {
-                                name = user.getName();
-                                if (name == null || name.length() == 0) {
-                                    name = user.getUserId();
-                                }
-                            }
-                            param.putString("sender", name);
-                            params.pushMap(param);
-                        }
+                        WritableArray params = StringeeChatSerializer.messagesToArray(messages, mClient);
                         callback.invoke(true, 0, "Success", params);
                     }
 
@@ -1333,7 +1011,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void deleteMessage(String convId, final String msgId, final Callback callback) {
+    public void deleteMessage(String convId, final String msgId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.deleteMessage", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
@@ -1355,13 +1034,44 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void markConversationAsRead(String convId, final Callback callback) {
+    public void deleteMessages(String convId, ReadableArray msgIds, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.deleteMessages", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected");
             return;
         }
 
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        if (msgIds == null || msgIds.size() == 0) {
+            callback.invoke(false, -2, "Message ids can not be empty");
+            return;
+        }
+
+        JSONArray messageIds = new JSONArray();
+        for (int i = 0; i < msgIds.size(); i++) {
+            messageIds.put(msgIds.getString(i));
+        }
+        mClient.deleteMessages(convId, messageIds, new StatusListener() {
+            @Override
+            public void onSuccess() {
+                callback.invoke(true, 0, "Success");
+            }
+
+            @Override
+            public void onError(StringeeError error) {
+                callback.invoke(false, error.getCode(), error.getMessage());
+            }
+        });
+    }
+
+    @ReactMethod
+    public void markConversationAsRead(String convId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.markConversationAsRead", jsCallback);
+        if (mClient == null) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected");
+            return;
+        }
+
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 Message message = conversation.getLastMessage(mContext);
@@ -1383,7 +1093,75 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getUser(String userId, Callback callback) {
+    public void markConversationsAsRead(final ReadableArray convIds, int maxInFlight, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.markConversationsAsRead", jsCallback);
+        if (mClient == null) {
+            callback.invoke(false, -1, "StringeeClient is not initialized or connected");
+            return;
+        }
+
+        // The ids are read up front, the bridge array should not be touched from the SDK threads.
+        final int count = convIds.size();
+        final String[] ids = new String[count];
+        for (int i = 0; i < count; i++) {
+            if (convIds.getType(i) == ReadableType.String) {
+                ids[i] = convIds.getString(i);
+            }
+        }
+        StringeeBatchOperation operation = new StringeeBatchOperation(count, maxInFlight, new StringeeBatchOperation.Task() {
+            @Override
+            public void run(final int index, final StringeeBatchOperation operation) {
+                if (ids[index] == null || ids[index].isEmpty()) {
+                    operation.complete(index, false, -2, "The conversation id is invalid");
+                    return;
+                }
+                getConversation(ids[index], new CallbackListener<Conversation>() {
+                    @Override
+                    public void onSuccess(Conversation conversation) {
+                        if (conversation == null) {
+                            operation.complete(index, false, -3, "The conversation is not found");
+                            return;
+                        }
+                        Message message = conversation.getLastMessage(mContext);
+                        if (message == null) {
+                            operation.complete(index, true, 0, "Success");
+                            return;
+                        }
+                        message.markAsRead(mClient, new StatusListener() {
+                            @Override
+                            public void onSuccess() {
+                                operation.complete(index, true, 0, "Success");
+                            }
+
+                            @Override
+                            public void onError(StringeeError error) {
+                                operation.complete(index, false, error.getCode(), error.getMessage());
+                            }
+                        });
+                    }
+
+                    @Override
+                    public void onError(StringeeError error) {
+                        operation.complete(index, false, error.getCode(), error.getMessage());
+                    }
+                });
+            }
+        }, new StringeeBatchOperation.CompletionListener() {
+            @Override
+            public void onComplete(int failedCount, WritableArray results) {
+                if (failedCount == 0) {
+                    callback.invoke(true, 0, "Success", results);
+                } else {
+                    callback.invoke(false, -3, failedCount + " of " + count + " conversations could not be marked as read", results);
+                }
+            }
+        });
+        operation.start();
+    }
+
+    @ReactMethod
+    public void getUser(String userId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getUser", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -1391,11 +1169,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
         User user = mClient.getUser(userId);
         if (user != null) {
-            WritableMap param = Arguments.createMap();
-            param.putString("userId", user.getUserId());
-            param.putString("name", user.getName());
-            param.putString("avatar", user.getAvatarUrl());
-            callback.invoke(true, 0, "Success", param);
+            callback.invoke(true, 0, "Success", StringeeChatSerializer.userToMap(user));
         } else {
             callback.invoke(false, -1, "User does not exist.");
         }
@@ -1403,154 +1177,53 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
     @Override
     public void onChangeEvent(StringeeChange stringeeChange) {
-        if (contains(jsEvents, "onChangeEvent")) {
+        StringeeObject.Type objectType = stringeeChange.getObjectType();
+        if (objectType == StringeeObject.Type.CONVERSATION) {
+            Conversation conversation = (Conversation) stringeeChange.getObject();
+            mStringeeManager.getUserCache().putAll(conversation.getParticipants());
+            if (stringeeChange.getChangeType() == StringeeChange.Type.DELETE) {
+                mStringeeManager.getConversationCache().remove(conversation.getId());
+            } else {
+                mStringeeManager.getConversationCache().put(conversation);
+            }
+        }
+
+        if (canSend("onChangeEvent")) {
             WritableMap params = Arguments.createMap();
-            StringeeObject.Type objectType = stringeeChange.getObjectType();
             params.putInt("objectType", objectType.getValue());
             params.putInt("changeType", stringeeChange.getChangeType().getValue());
             WritableArray objects = Arguments.createArray();
-            WritableMap object = Arguments.createMap();
             if (objectType == StringeeObject.Type.CONVERSATION) {
                 Conversation conversation = (Conversation) stringeeChange.getObject();
-                object.putString("id", conversation.getId());
-                object.putString("localId", conversation.getLocalId());
-                object.putString("name", conversation.getName());
-                object.putBoolean("isGroup", conversation.isGroup());
-                object.putDouble("updatedAt", conversation.getUpdateAt());
-                object.putString("lastMsgSender", conversation.getLastMsgSender());
-                object.putInt("lastMsgType", conversation.getLastMsgType());
-                object.putInt("unreadCount", conversation.getTotalUnread());
-                object.putString("lastMsgId", conversation.getLastMsgId());
-                object.putString("creator", conversation.getCreator());
-                object.putDouble("created", conversation.getCreateAt());
-                object.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                object.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                object.putInt("lastMsgState", conversation.getLastMsgState());
-                if (conversation.getLastMsg() != null) {
-                    try {
-                        Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                        WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                        object.putMap("text", lastMsgMap);
-                    } catch (JSONException e) {
-                        e.printStackTrace();
-                    }
-                }
-
-                List<User> participants = conversation.getParticipants();
-                WritableArray participantsMap = Arguments.createArray();
-                for (int i = 0; i < participants.size(); i++) {
-                    User user = participants.get(i);
-                    WritableMap userMap = Arguments.createMap();
-                    userMap.putString("userId", user.getUserId());
-                    userMap.putString("name", user.getName());
-                    userMap.putString("avatar", user.getAvatarUrl());
-                    participantsMap.pushMap(userMap);
-                }
-                object.putArray("participants", participantsMap);
+                objects.pushMap(StringeeChatSerializer.conversationToMap(conversation));
             } else if (objectType == StringeeObject.Type.MESSAGE) {
                 Message message = (Message) stringeeChange.getObject();
-                object.putString("id", message.getId());
-                object.putString("localId", message.getLocalId());
-                object.putString("conversationId", message.getConversationId());
-                object.putDouble("createdAt", message.getCreatedAt());
-                object.putInt("state", message.getState().getValue());
-                object.putDouble("sequence", message.getSequence());
-                object.putInt("type", message.getType());
-                WritableMap contentMap = Arguments.createMap();
-                switch (message.getType()) {
-                    case 1:
-                        contentMap.putString("content", message.getText());
-                        break;
-                    case 2:
-                        WritableMap photoMap = Arguments.createMap();
-                        photoMap.putString("filePath", message.getFileUrl());
-                        photoMap.putString("thumbnail", message.getThumbnailUrl());
-                        photoMap.putDouble("ratio", message.getImageRatio());
-                        contentMap.putMap("photo", photoMap);
-                        break;
-                    case 3:
-                        WritableMap videoMap = Arguments.createMap();
-                        videoMap.putString("filePath", message.getFileUrl());
-                        videoMap.putString("thumbnail", message.getThumbnailUrl());
-                        videoMap.putDouble("ratio", message.getImageRatio());
-                        videoMap.putInt("duration", message.getDuration());
-                        contentMap.putMap("video", videoMap);
-                        break;
-                    case 4:
-                        WritableMap audioMap = Arguments.createMap();
-                        audioMap.putString("filePath", message.getFileUrl());
-                        audioMap.putInt("duration", message.getDuration());
-                        contentMap.putMap("audio", audioMap);
-                        break;
-                    case 5:
-                        WritableMap fileMap = Arguments.createMap();
-                        fileMap.putString("filePath", message.getFileUrl());
-                        fileMap.putString("filename", message.getFileName());
-                        fileMap.putDouble("length", message.getFileLength());
-                        contentMap.putMap("file", fileMap);
-                        break;
-                    case 7:
-                        try {
-                            contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                        break;
-                    case 9:
-                        WritableMap locationMap = Arguments.createMap();
-                        locationMap.putDouble("lat", message.getLatitude());
-                        locationMap.putDouble("lon", message.getLongitude());
-                        contentMap.putMap("location", locationMap);
-                        break;
-                    case 10:
-                        WritableMap contactMap = Arguments.createMap();
-                        contactMap.putString("vcard", message.getContact());
-                        contentMap.putMap("contact", contactMap);
-                        break;
-                    case 11:
-                        WritableMap stickerMap = Arguments.createMap();
-                        stickerMap.putString("name", message.getStickerName());
-                        stickerMap.putString("category", message.getStickerCategory());
-                        contentMap.putMap("sticker", stickerMap);
-                        break;
-                    case 100:
-                        try {
-                            contentMap = Arguments.fromBundle(jsonToBundle(message.getText()));
-                        } catch (JSONException e) {
-                            e.printStackTrace();
-                        }
-                        break;
-                }
-                object.putMap("content", contentMap);
-                String senderId = message.getSenderId();
-                User user = mClient.getUser(senderId);
-                String name = "";
-                if (user != null) {
-                    name = user.getName();
-                    if (name == null || name.length() == 0) {
-                        name = user.getUserId();
-                    }
-                }
-                object.putString("sender", name);
+                String sender = StringeeChatSerializer.getSenderName(mClient, message.getSenderId());
+                objects.pushMap(StringeeChatSerializer.messageToMap(message, sender));
+            } else {
+                objects.pushMap(Arguments.createMap());
             }
-            objects.pushMap(object);
             params.putArray("objects", objects);
             sendEvent(getReactApplicationContext(), "onChangeEvent", params);
         }
     }
 
     @ReactMethod
-    public void clearDb(Callback callback) {
+    public void clearDb(Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.clearDb", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
         }
         mClient.clearDb();
+        mStringeeManager.getUserCache().clear();
+        mStringeeManager.getConversationCache().clear();
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void updateConversation(String convId, ReadableMap convMap, final Callback callback) {
+    public void updateConversation(String convId, ReadableMap convMap, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.updateConversation", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -1572,7 +1245,7 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
 
         final String finalAvatar = avatar;
         final String finalName = name;
-        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+        getConversation(convId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
                 conversation.updateConversation(mClient, finalName, finalAvatar, new StatusListener() {
@@ -1596,7 +1269,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
     }
 
     @ReactMethod
-    public void getConversationWithUser(String userId, final Callback callback) {
+    public void getConversationWithUser(String userId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getConversationWithUser", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -1610,43 +1284,8 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         mClient.getConversationByUserId(userId, new CallbackListener<Conversation>() {
             @Override
             public void onSuccess(Conversation conversation) {
-                WritableMap params = Arguments.createMap();
-                params.putString("id", conversation.getId());
-                params.putString("localId", conversation.getLocalId());
-                params.putString("name", conversation.getName());
-                params.putBoolean("isDistinct", conversation.isDistinct());
-                params.putBoolean("isGroup", conversation.isGroup());
-                params.putDouble("updatedAt", conversation.getUpdateAt());
-                params.putString("lastMsgSender", conversation.getLastMsgSender());
-                params.putString("text", conversation.getText());
-                params.putInt("lastMsgType", conversation.getLastMsgType());
-                params.putInt("unreadCount", conversation.getTotalUnread());
-                params.putString("lastMsgId", conversation.getLastMsgId());
-                params.putString("creator", conversation.getCreator());
-                params.putDouble("created", conversation.getCreateAt());
-                params.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
-                params.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
-                params.putInt("lastMsgState", conversation.getLastMsgState());
-                if (conversation.getLastMsg() != null) {
-                    try {
-                        Bundle bundle = jsonToBundle(conversation.getLastMsg());
-                        WritableMap lastMsgMap = Arguments.fromBundle(bundle);
-                        params.putMap("text", lastMsgMap);
-                    } catch (JSONException e) {
-                        e.printStackTrace();
-                    }
-                }
-                List<User> participants = conversation.getParticipants();
-                WritableArray participantsMap = Arguments.createArray();
-                for (int i = 0; i < participants.size(); i++) {
-                    User user = participants.get(i);
-                    WritableMap userMap = Arguments.createMap();
-                    userMap.putString("userId", user.getUserId());
-                    userMap.putString("name", user.getName());
-                    userMap.putString("avatar", user.getAvatarUrl());
-                    participantsMap.pushMap(userMap);
-                }
-                params.putArray("participants", participantsMap);
+                mStringeeManager.getConversationCache().put(conversation);
+                WritableMap params = StringeeChatSerializer.conversationToMap(conversation);
                 callback.invoke(true, 0, "Success", params);
             }
 
@@ -1657,8 +1296,51 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
         });
     }
 
+    private void getConversation(String convId, final CallbackListener<Conversation> listener) {
+        Conversation conversation = mStringeeManager.getConversationCache().get(convId);
+        if (conversation != null) {
+            listener.onSuccess(conversation);
+            return;
+        }
+
+        mClient.getConversation(convId, new CallbackListener<Conversation>() {
+            @Override
+            public void onSuccess(Conversation conversation) {
+                mStringeeManager.getConversationCache().put(conversation);
+                listener.onSuccess(conversation);
+            }
+
+            @Override
+            public void onError(StringeeError error) {
+                listener.onError(error);
+            }
+        });
+    }
+
     @ReactMethod
-    public void getUnreadConversationCount(final Callback callback) {
+    public void getRegistryStats(Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getRegistryStats", jsCallback);
+        callback.invoke(true, 0, "Success", mStringeeManager.getRegistryStats());
+    }
+
+    @ReactMethod
+    public void setMetricsEnabled(boolean enabled) {
+        metrics.setEnabled(enabled);
+    }
+
+    @ReactMethod
+    public void getMetrics(Callback callback) {
+        callback.invoke(true, 0, "Success", metrics.getMetrics());
+    }
+
+    @ReactMethod
+    public void resetMetrics() {
+        metrics.reset();
+    }
+
+    @ReactMethod
+    public void getUnreadConversationCount(Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeClient.getUnreadConversationCount", jsCallback);
         if (mClient == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized");
             return;
@@ -1676,17 +1358,4 @@ public class RNStringeeClientModule extends ReactContextBaseJavaModule implement
             }
         });
     }
-
-    private Bundle jsonToBundle(String text) throws JSONException {
-        JSONObject jsonObject = new JSONObject(text);
-        Bundle bundle = new Bundle();
-        Iterator iter = jsonObject.keys();
-        while (iter.hasNext()) {
-            String key = (String) iter.next();
-            String value = jsonObject.getString(key);
-            bundle.putString(key, value);
-        }
-        return bundle;
-    }
 }
-
@@ -8,9 +8,10 @@ import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.WritableNativeMap;
-import com.facebook.react.modules.core.DeviceEventManagerModule;
 import com.stringee.conference.StringeeRoom;
 import com.stringee.conference.StringeeStream;
 import com.stringee.exception.StringeeError;
@@ -20,18 +21,29 @@ import org.json.JSONException;
 import org.json.JSONObject;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements StringeeRoomListener, StringeeStream.StringeeStreamListener {
 
-    private Callback mCallback;
-    private StringeeStream localStream;
-    private StringeeRoom mRoom;
-
-    private ArrayList<String> jsEvents = new ArrayList<String>();
-    private Map<String, Callback> callbacksMap = new HashMap<>();
-    private Map<String, Callback> unsubscribeCallbackMap = new HashMap<>();
+    private static final String STATE_PUBLISHED = "published";
+    private static final String STATE_SUBSCRIBING = "subscribing";
+    private static final String STATE_SUBSCRIBED = "subscribed";
+    private static final String STATE_UNSUBSCRIBING = "unsubscribing";
+
+    private StringeeEventRegistry jsEvents = new StringeeEventRegistry();
+    private StringeeMetrics metrics = StringeeManager.getInstance().getMetrics();
+    private StringeeEventReplayBuffer replayBuffer = new StringeeEventReplayBuffer();
+    private ConcurrentHashMap<Integer, StringeeRoomState> roomStates = new ConcurrentHashMap<>();
+    private StringeePendingCallbacks<StringeeRoom> connectCallbacks = new StringeePendingCallbacks<>(StringeeRoomState.OPERATION_TIMEOUT);
+    private AtomicInteger localStreamCounter = new AtomicInteger();
+    // Last connected room, used by the legacy setSpeakerphoneOn that takes no room id.
+    private volatile int lastRoomId;
+    // Room of the last published local stream, used by the legacy camera and mute controls.
+    private volatile int lastPublishRoomId;
+    private Map<Integer, StringeeRoomStatsMonitor> statsMonitors = new ConcurrentHashMap<>();
 
     public RNStringeeRoomModule(ReactApplicationContext reactContext) {
         super(reactContext);
@@ -43,21 +55,22 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
     }
 
     @ReactMethod
-    public void makeRoom(Callback callback) {
-        mCallback = callback;
-
+    public void makeRoom(Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.makeRoom", jsCallback);
         if (StringeeManager.getInstance().getClient() == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.", 0);
             return;
         }
 
-        mRoom = new StringeeRoom(StringeeManager.getInstance().getClient());
+        StringeeRoom mRoom = new StringeeRoom(StringeeManager.getInstance().getClient());
         mRoom.setRoomListener(this);
+        connectCallbacks.add(mRoom, callback, false, -5, "The request timed out.", 0);
         mRoom.makeRoom();
     }
 
     @ReactMethod
-    public void destroy(int roomId, Callback callback) {
+    public void destroy(int roomId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.destroy", jsCallback);
         if (StringeeManager.getInstance().getClient() == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.");
             return;
@@ -68,19 +81,22 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsMap().get(roomId);
+        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsRegistry().get(roomId);
         if (mRoom == null) {
             callback.invoke(false, -3, "The room is not found.");
             return;
         }
 
         mRoom.leaveRoom();
+        StringeeManager.getInstance().removeRoom(roomId);
+        releaseRoomState(roomId, "The room is destroyed.");
+        releaseStatsMonitor(roomId);
         callback.invoke(true, 0, "Success");
     }
 
     @ReactMethod
-    public void joinRoom(int roomId, Callback callback) {
-        mCallback = callback;
+    public void joinRoom(int roomId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.joinRoom", jsCallback);
         if (StringeeManager.getInstance().getClient() == null) {
             callback.invoke(false, -1, "StringeeClient is not initialized or connected.", roomId);
             return;
@@ -93,35 +109,52 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
         StringeeRoom mRoom = new StringeeRoom(StringeeManager.getInstance().getClient(), roomId);
         mRoom.setRoomListener(this);
+        connectCallbacks.add(mRoom, callback, false, -5, "The request timed out.", roomId);
         mRoom.joinRoom();
     }
 
     @ReactMethod
-    public void publishLocalStream(int roomId, String config, Callback callback) {
+    public void publishLocalStream(final int roomId, String config, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.publishLocalStream", jsCallback);
         if (roomId <= 0) {
             callback.invoke(false, -1, "The room id is invalid.", "");
             return;
         }
-        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsMap().get(roomId);
-        if (mRoom == null) {
+        final StringeeRoomState state = getRoomState(roomId);
+        if (state == null) {
             callback.invoke(false, -2, "The room is not found.", "");
             return;
         }
-        localStream = new StringeeStream(getReactApplicationContext());
-        localStream.setCustomId("local_stream_" + System.currentTimeMillis());
+        final StringeeStream localStream = new StringeeStream(getReactApplicationContext());
+        localStream.setCustomId("local_stream_" + System.currentTimeMillis() + "_" + localStreamCounter.incrementAndGet());
         localStream.setStreamListener(this);
-        callbacksMap.put(localStream.getCustomId(), callback);
-        mRoom.publish(localStream);
+        state.addLocalStream(localStream);
+        // Runs on success, error and timeout alike: a stream that failed to publish must not stay
+        // the target of the camera and mute controls, and only a published one moves them to this room.
+        Callback publishCallback = new Callback() {
+            @Override
+            public void invoke(Object... args) {
+                if (args.length > 0 && Boolean.TRUE.equals(args[0])) {
+                    lastPublishRoomId = roomId;
+                } else {
+                    state.removeLocalStream(localStream);
+                }
+                callback.invoke(args);
+            }
+        };
+        state.getPublishCallbacks().add(localStream.getCustomId(), publishCallback, false, -5, "The request timed out.", "", false);
+        state.getRoom().publish(localStream);
     }
 
     @ReactMethod
-    public void subscribe(int roomId, String streamId, Callback callback) {
+    public void subscribe(int roomId, String streamId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.subscribe", jsCallback);
         if (roomId <= 0) {
             callback.invoke(false, -1, "The room id is invalid.");
             return;
         }
-        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsMap().get(roomId);
-        if (mRoom == null) {
+        StringeeRoomState state = getRoomState(roomId);
+        if (state == null) {
             callback.invoke(false, -2, "The room is not found.");
             return;
         }
@@ -130,24 +163,34 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeStream stream = StringeeManager.getInstance().getStreamsMap().get(streamId);
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
         if (stream == null) {
             callback.invoke(false, -4, "The stream is not found.");
             return;
         }
 
-        callbacksMap.put(streamId, callback);
-        mRoom.subscribe(stream);
+        // Same lock as applySubscriptionPolicy, so a stream is never subscribed twice.
+        synchronized (this) {
+            String streamState = StringeeManager.getInstance().getStreamsRegistry().getState(streamId);
+            if (STATE_SUBSCRIBING.equals(streamState) || STATE_SUBSCRIBED.equals(streamState) || STATE_UNSUBSCRIBING.equals(streamState)) {
+                callback.invoke(false, -7, "The stream is already subscribed.");
+                return;
+            }
+            state.getSubscribeCallbacks().add(streamId, callback, false, -5, "The request timed out.", streamId, false);
+            StringeeManager.getInstance().getStreamsRegistry().setState(streamId, STATE_SUBSCRIBING);
+        }
+        state.getRoom().subscribe(stream);
     }
 
     @ReactMethod
-    public void unPublishLocalStream(int roomId, String streamId, Callback callback) {
+    public void unPublishLocalStream(int roomId, String streamId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.unPublishLocalStream", jsCallback);
         if (roomId <= 0) {
             callback.invoke(false, -1, "The room id is invalid.");
             return;
         }
-        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsMap().get(roomId);
-        if (mRoom == null) {
+        StringeeRoomState state = getRoomState(roomId);
+        if (state == null) {
             callback.invoke(false, -2, "The room is not found.");
             return;
         }
@@ -156,24 +199,25 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeStream stream = StringeeManager.getInstance().getStreamsMap().get(streamId);
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
         if (stream == null) {
             callback.invoke(false, -4, "The stream is not found.");
             return;
         }
 
-        callbacksMap.put(streamId, callback);
-        mRoom.unpublish(stream);
+        state.getUnpublishCallbacks().add(streamId, callback, false, -5, "The request timed out.");
+        state.getRoom().unpublish(stream);
     }
 
     @ReactMethod
-    public void unSubscribe(int roomId, String streamId, Callback callback) {
+    public void unSubscribe(int roomId, String streamId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.unSubscribe", jsCallback);
         if (roomId <= 0) {
             callback.invoke(false, -1, "The room id is invalid.");
             return;
         }
-        StringeeRoom mRoom = StringeeManager.getInstance().getRoomsMap().get(roomId);
-        if (mRoom == null) {
+        StringeeRoomState state = getRoomState(roomId);
+        if (state == null) {
             callback.invoke(false, -2, "The room is not found.");
             return;
         }
@@ -182,18 +226,31 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
             return;
         }
 
-        StringeeStream stream = StringeeManager.getInstance().getStreamsMap().get(streamId);
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
         if (stream == null) {
             callback.invoke(false, -4, "The stream is not found.");
             return;
         }
 
-        unsubscribeCallbackMap.put(streamId, callback);
-        mRoom.unsubscribe(stream);
+        if (StringeeManager.getInstance().getSubscriptionPolicy().isOwned(roomId, streamId)) {
+            callback.invoke(false, -7, "The stream is managed by the subscription policy.");
+            return;
+        }
+
+        state.getUnsubscribeCallbacks().add(streamId, callback, false, -5, "The request timed out.");
+        state.getRoom().unsubscribe(stream);
     }
 
     @ReactMethod
-    public void turnOnCamera(boolean video, Callback callback) {
+    public void turnOnCamera(boolean video, Callback jsCallback) {
+        turnOnCameraInRoom(lastPublishRoomId, video, jsCallback);
+    }
+
+    @ReactMethod
+    public void turnOnCameraInRoom(int roomId, boolean video, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.turnOnCameraInRoom", jsCallback);
+        StringeeRoomState state = roomStates.get(roomId);
+        StringeeStream localStream = state != null ? state.getLocalStream() : null;
         if (localStream != null) {
             localStream.enableVideo(video);
             callback.invoke(true, 0, "Success");
@@ -204,32 +261,104 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
     @ReactMethod
     public void mute(boolean mute) {
-        if (localStream != null) {
-            localStream.mute(mute);
+        muteInRoom(lastPublishRoomId, mute);
+    }
+
+    @ReactMethod
+    public void muteInRoom(int roomId, boolean mute) {
+        StringeeRoomState state = roomStates.get(roomId);
+        if (state != null && state.getLocalStream() != null) {
+            state.getLocalStream().mute(mute);
         }
     }
 
     @ReactMethod
     public void switchCamera() {
-        if (localStream != null) {
-            localStream.switchCamera();
+        switchCameraInRoom(lastPublishRoomId);
+    }
+
+    @ReactMethod
+    public void switchCameraInRoom(int roomId) {
+        StringeeRoomState state = roomStates.get(roomId);
+        if (state != null && state.getLocalStream() != null) {
+            state.getLocalStream().switchCamera();
         }
     }
 
     @ReactMethod
     public void setSpeakerphoneOn(boolean on) {
-        if (mRoom != null) {
-            mRoom.setSpeakerphoneOn(on);
+        setSpeakerphoneOnInRoom(lastRoomId, on);
+    }
+
+    @ReactMethod
+    public void setSpeakerphoneOnInRoom(int roomId, boolean on) {
+        StringeeRoomState state = roomStates.get(roomId);
+        if (state != null) {
+            state.getRoom().setSpeakerphoneOn(on);
         }
     }
 
+    private void releaseRoomState(int roomId, String reason) {
+        StringeeRoomState state = roomStates.remove(roomId);
+        if (state != null) {
+            state.cancelPending(-6, reason);
+        }
+        StringeeManager.getInstance().getSubscriptionPolicy().clear(roomId);
+    }
+
     @ReactMethod
-    public void getStats(int roomId, String streamId, boolean isVideoTrack, final Callback callback) {
+    public void getPendingOperationStats(Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.getPendingOperationStats", jsCallback);
+        WritableMap rooms = Arguments.createMap();
+        for (Map.Entry<Integer, StringeeRoomState> entry : roomStates.entrySet()) {
+            rooms.putMap(String.valueOf(entry.getKey()), entry.getValue().getStats());
+        }
+        WritableMap stats = Arguments.createMap();
+        stats.putMap("connect", connectCallbacks.getStats());
+        stats.putMap("rooms", rooms);
+        callback.invoke(true, 0, "Success", stats);
+    }
+
+    private StringeeRoomState getRoomState(int roomId) {
+        StringeeRoomState state = roomStates.get(roomId);
+        if (state == null) {
+            StringeeRoom room = StringeeManager.getInstance().getRoomsRegistry().get(roomId);
+            if (room != null) {
+                StringeeRoomState newState = new StringeeRoomState(room);
+                state = roomStates.putIfAbsent(roomId, newState);
+                if (state == null) {
+                    state = newState;
+                }
+            }
+        }
+        return state;
+    }
+
+    // Local streams only learn their room once published, fall back to the custom id they were created with.
+    private StringeeRoomState getRoomState(StringeeStream stream) {
+        StringeeRoom room = stream.getRoom();
+        if (room != null) {
+            StringeeRoomState state = roomStates.get(room.getId());
+            if (state != null) {
+                return state;
+            }
+        }
+        for (StringeeRoomState state : roomStates.values()) {
+            if (state.hasLocalStream(stream.getCustomId())) {
+                return state;
+            }
+        }
+        return null;
+    }
+
+    @ReactMethod
+    public void getStats(int roomId, String streamId, boolean isVideoTrack, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.getStats", jsCallback);
         if (streamId == null) {
             callback.invoke(false, -1, "The stream id is not found.");
             return;
         }
-        StringeeStream stream = StringeeManager.getInstance().getStreamsMap().get(streamId);
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
         if (stream == null) {
             callback.invoke(false, -2, "The stream is not found.");
             return;
@@ -252,21 +381,198 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
         });
     }
 
+    @ReactMethod
+    public void getStatsMap(int roomId, String streamId, boolean isVideoTrack, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.getStatsMap", jsCallback);
+        if (streamId == null) {
+            callback.invoke(false, -1, "The stream id is not found.", null);
+            return;
+        }
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
+        if (stream == null) {
+            callback.invoke(false, -2, "The stream is not found.", null);
+            return;
+        }
+
+        stream.getStats(new StringeeStream.StringeeStreamStatsListener() {
+            @Override
+            public void onCallStats(StringeeStream.StringeeStreamStats stringeeStreamStats) {
+                WritableMap stats = Arguments.createMap();
+                stats.putDouble("bytesReceived", stringeeStreamStats.bytesReceived);
+                stats.putDouble("packetsLost", stringeeStreamStats.packetsLost);
+                stats.putDouble("packetsReceived", stringeeStreamStats.packetsReceived);
+                stats.putDouble("timeStamp", stringeeStreamStats.timeStamp);
+                callback.invoke(true, 0, "Success", stats);
+            }
+        });
+    }
+
+    @ReactMethod
+    public void setSubscriptionPolicy(final int roomId, ReadableMap options, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.setSubscriptionPolicy", jsCallback);
+        if (roomId <= 0) {
+            callback.invoke(false, -2, "The room id is invalid.");
+            return;
+        }
+        final StringeeRoom room = StringeeManager.getInstance().getRoomsRegistry().get(roomId);
+        if (room == null) {
+            callback.invoke(false, -3, "The room is not found.");
+            return;
+        }
+
+        boolean autoSubscribe = true;
+        int maxActiveVideo = 0;
+        if (options != null) {
+            if (options.hasKey("autoSubscribe")) {
+                autoSubscribe = options.getBoolean("autoSubscribe");
+            }
+            if (options.hasKey("maxActiveVideo")) {
+                maxActiveVideo = options.getInt("maxActiveVideo");
+            }
+        }
+        StringeeManager.getInstance().getSubscriptionPolicy().setPolicy(roomId, autoSubscribe, maxActiveVideo);
+
+        final StringeeRegistry<String, StringeeStream> streamsRegistry = StringeeManager.getInstance().getStreamsRegistry();
+        List<StringeeStream> streams = streamsRegistry.findAll(new StringeeRegistry.Filter<String, StringeeStream>() {
+            @Override
+            public boolean matches(String streamId, StringeeStream stream) {
+                return stream.getRoom() != null && stream.getRoom().getId() == roomId && !STATE_PUBLISHED.equals(streamsRegistry.getState(streamId));
+            }
+        });
+        for (int i = 0; i < streams.size(); i++) {
+            StringeeManager.getInstance().getSubscriptionPolicy().addStream(roomId, streams.get(i).getId());
+        }
+        applySubscriptionPolicy(room);
+        callback.invoke(true, 0, "Success");
+    }
+
+    @ReactMethod
+    public void setActiveSpeakers(int roomId, ReadableArray streamIds) {
+        List<String> speakers = new ArrayList<>();
+        if (streamIds != null) {
+            for (int i = 0; i < streamIds.size(); i++) {
+                speakers.add(streamIds.getString(i));
+            }
+        }
+        StringeeManager.getInstance().getSubscriptionPolicy().setActiveSpeakers(roomId, speakers);
+        StringeeRoom room = StringeeManager.getInstance().getRoomsRegistry().get(roomId);
+        if (room != null) {
+            applySubscriptionPolicy(room);
+        }
+    }
+
+    // Subscribes the streams that fit the video budget of an auto subscribe room and unsubscribes the ones
+    // it subscribed that dropped out, so streams over the budget cost neither bandwidth nor decoding.
+    // Streams subscribed from JS are left alone.
+    private synchronized void applySubscriptionPolicy(StringeeRoom room) {
+        StringeeSubscriptionPolicy policy = StringeeManager.getInstance().getSubscriptionPolicy();
+        int roomId = room.getId();
+        if (!policy.isAutoSubscribe(roomId)) {
+            return;
+        }
+        StringeeRegistry<String, StringeeStream> streamsRegistry = StringeeManager.getInstance().getStreamsRegistry();
+        List<String> selected = policy.getStreamsToSubscribe(roomId);
+        List<String> streamIds = policy.getStreams(roomId);
+        for (int i = 0; i < streamIds.size(); i++) {
+            String streamId = streamIds.get(i);
+            StringeeStream stream = streamsRegistry.get(streamId);
+            if (stream == null) {
+                continue;
+            }
+            String streamState = streamsRegistry.getState(streamId);
+            if (selected.contains(streamId)) {
+                if (StringeeRegistry.STATE_ACTIVE.equals(streamState)) {
+                    policy.setOwned(roomId, streamId, true);
+                    streamsRegistry.setState(streamId, STATE_SUBSCRIBING);
+                    room.subscribe(stream);
+                }
+            } else if (policy.isOwned(roomId, streamId) && STATE_SUBSCRIBED.equals(streamState)) {
+                streamsRegistry.setState(streamId, STATE_UNSUBSCRIBING);
+                room.unsubscribe(stream);
+            }
+        }
+    }
+
+    private void applySubscriptionPolicy(StringeeStream stream) {
+        StringeeRoom room = stream.getRoom();
+        if (room != null) {
+            applySubscriptionPolicy(room);
+        }
+    }
+
+    @ReactMethod
+    public void startRoomStatsMonitor(int roomId, int interval, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.startRoomStatsMonitor", jsCallback);
+        if (roomId <= 0) {
+            callback.invoke(false, -2, "The room id is invalid.");
+            return;
+        }
+        if (StringeeManager.getInstance().getRoomsRegistry().get(roomId) == null) {
+            callback.invoke(false, -3, "The room is not found.");
+            return;
+        }
+
+        StringeeRoomStatsMonitor monitor = new StringeeRoomStatsMonitor(roomId, interval, new StringeeRoomStatsMonitor.Listener() {
+            @Override
+            public void onStats(int roomId, WritableMap report) {
+                if (jsEvents.contains("onRoomStats")) {
+                    sendEvent(getReactApplicationContext(), "onRoomStats", report);
+                }
+            }
+
+            @Override
+            public void onStopped(int roomId) {
+                statsMonitors.remove(roomId);
+            }
+        });
+        StringeeRoomStatsMonitor previous = statsMonitors.put(roomId, monitor);
+        if (previous != null) {
+            previous.stop();
+        }
+        monitor.start();
+        callback.invoke(true, 0, "Success");
+    }
+
+    @ReactMethod
+    public void stopRoomStatsMonitor(int roomId, Callback jsCallback) {
+        final Callback callback = metrics.track("RNStringeeRoom.stopRoomStatsMonitor", jsCallback);
+        StringeeRoomStatsMonitor monitor = statsMonitors.remove(roomId);
+        if (monitor == null) {
+            callback.invoke(false, -3, "The stats monitor is not found.");
+            return;
+        }
+        monitor.stop();
+        callback.invoke(true, 0, "Success");
+    }
+
+    private void releaseStatsMonitor(int roomId) {
+        StringeeRoomStatsMonitor monitor = statsMonitors.remove(roomId);
+        if (monitor != null) {
+            monitor.stop();
+        }
+    }
+
     @Override
     public void onRoomConnected(StringeeRoom stringeeRoom) {
-        mCallback.invoke(true, 0, "Success", stringeeRoom.getId());
-        if (contains(jsEvents, "onRoomConnected")) {
+        StringeeManager.getInstance().getRoomsRegistry().put(stringeeRoom.getId(), stringeeRoom);
+        roomStates.putIfAbsent(stringeeRoom.getId(), new StringeeRoomState(stringeeRoom));
+        lastRoomId = stringeeRoom.getId();
+        connectCallbacks.invoke(stringeeRoom, true, 0, "Success", stringeeRoom.getId());
+        if (canSend("onRoomConnected")) {
             WritableMap params = Arguments.createMap();
             params.putInt("roomId", stringeeRoom.getId());
             params.putArray("streams", Arguments.createArray());
             sendEvent(getReactApplicationContext(), "onRoomConnected", params);
         }
-        StringeeManager.getInstance().getRoomsMap().put(stringeeRoom.getId(), stringeeRoom);
     }
 
     @Override
     public void onRoomDisconnected(StringeeRoom stringeeRoom) {
-        if (contains(jsEvents, "onRoomDisconnected")) {
+        StringeeManager.getInstance().removeRoom(stringeeRoom.getId());
+        releaseRoomState(stringeeRoom.getId(), "The room is disconnected.");
+        connectCallbacks.invoke(stringeeRoom, false, -6, "The room is disconnected.", stringeeRoom.getId());
+        releaseStatsMonitor(stringeeRoom.getId());
+        if (canSend("onRoomDisconnected")) {
             WritableMap params = Arguments.createMap();
             params.putInt("roomId", stringeeRoom.getId());
             sendEvent(getReactApplicationContext(), "onRoomDisconnected", params);
@@ -275,8 +581,8 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onRoomError(StringeeRoom stringeeRoom, StringeeError stringeeError) {
-        mCallback.invoke(false, stringeeError.getCode(), stringeeError.getMessage(), stringeeRoom.getId());
-        if (contains(jsEvents, "onRoomError")) {
+        connectCallbacks.invoke(stringeeRoom, false, stringeeError.getCode(), stringeeError.getMessage(), stringeeRoom.getId());
+        if (canSend("onRoomError")) {
             WritableMap params = Arguments.createMap();
             params.putInt("roomId", stringeeRoom.getId());
             params.putInt("code", stringeeError.getCode());
@@ -287,8 +593,13 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onStreamAdded(StringeeStream stringeeStream) {
-        StringeeManager.getInstance().getStreamsMap().put(stringeeStream.getId(), stringeeStream);
-        if (contains(jsEvents, "onStreamAdded")) {
+        StringeeManager.getInstance().getStreamsRegistry().put(stringeeStream.getId(), stringeeStream);
+        StringeeRoom room = stringeeStream.getRoom();
+        if (room != null) {
+            StringeeManager.getInstance().getSubscriptionPolicy().addStream(room.getId(), stringeeStream.getId());
+            applySubscriptionPolicy(room);
+        }
+        if (canSend("onStreamAdded")) {
             WritableMap params = Arguments.createMap();
             params.putInt("roomId", stringeeStream.getRoom().getId());
 
@@ -303,8 +614,14 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onStreamRemoved(StringeeStream stringeeStream) {
-        StringeeManager.getInstance().getStreamsMap().remove(stringeeStream.getId());
-        if (contains(jsEvents, "onStreamRemoved")) {
+        StringeeManager.getInstance().getStreamsRegistry().remove(stringeeStream.getId());
+        StringeeRoom room = stringeeStream.getRoom();
+        if (room != null) {
+            // Frees its slot in the video budget for the next stream in line.
+            StringeeManager.getInstance().getSubscriptionPolicy().removeStream(room.getId(), stringeeStream.getId());
+            applySubscriptionPolicy(room);
+        }
+        if (canSend("onStreamRemoved")) {
             WritableMap params = Arguments.createMap();
             params.putInt("roomId", stringeeStream.getRoom().getId());
 
@@ -319,78 +636,119 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
 
     @Override
     public void onStreamPublished(StringeeStream stringeeStream, boolean b) {
-        StringeeManager.getInstance().getStreamsMap().put(stringeeStream.getId(), stringeeStream);
-        Callback callback = callbacksMap.get(stringeeStream.getCustomId());
-        if (callback != null) {
-            callback.invoke(true, 0, "Success", stringeeStream.getId(), b);
+        StringeeManager.getInstance().getStreamsRegistry().put(stringeeStream.getId(), stringeeStream);
+        StringeeManager.getInstance().getStreamsRegistry().setState(stringeeStream.getId(), STATE_PUBLISHED);
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getPublishCallbacks().invoke(stringeeStream.getCustomId(), true, 0, "Success", stringeeStream.getId(), b);
         }
     }
 
     @Override
     public void onStreamPublishError(StringeeStream stringeeStream, StringeeError stringeeError, boolean b) {
-        Callback callback = callbacksMap.get(stringeeStream.getCustomId());
-        if (callback != null) {
-            callback.invoke(false, stringeeError.getCode(), stringeeError.getMessage(), stringeeStream.getId(), b);
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getPublishCallbacks().invoke(stringeeStream.getCustomId(), false, stringeeError.getCode(), stringeeError.getMessage(), stringeeStream.getId(), b);
         }
     }
 
     @Override
     public void onStreamUnPublished(StringeeStream stringeeStream) {
-        Callback callback = callbacksMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(true, 0, "Success");
+        StringeeManager.getInstance().getStreamsRegistry().remove(stringeeStream.getId());
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.removeLocalStream(stringeeStream);
+            state.getUnpublishCallbacks().invoke(stringeeStream.getId(), true, 0, "Success");
         }
     }
 
     @Override
     public void onStreamUnPublishError(StringeeStream stringeeStream, StringeeError stringeeError) {
-        Callback callback = callbacksMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(false, stringeeError.getCode(), stringeeError.getMessage());
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getUnpublishCallbacks().invoke(stringeeStream.getId(), false, stringeeError.getCode(), stringeeError.getMessage());
         }
     }
 
     @Override
     public void onStreamSubscribed(StringeeStream stringeeStream, boolean b) {
-        Callback callback = callbacksMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(true, 0, "Success", stringeeStream.getId(), b);
+        StringeeManager.getInstance().getStreamsRegistry().setState(stringeeStream.getId(), STATE_SUBSCRIBED);
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getSubscribeCallbacks().invoke(stringeeStream.getId(), true, 0, "Success", stringeeStream.getId(), b);
         }
+        // The stream may have dropped out of the video budget while it was subscribing.
+        applySubscriptionPolicy(stringeeStream);
     }
 
     @Override
     public void onStreamUnSubscribed(StringeeStream stringeeStream) {
-        Callback callback = unsubscribeCallbackMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(true, 0, "Success", stringeeStream.getId());
+        StringeeManager.getInstance().getStreamsRegistry().setState(stringeeStream.getId(), StringeeRegistry.STATE_ACTIVE);
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getUnsubscribeCallbacks().invoke(stringeeStream.getId(), true, 0, "Success", stringeeStream.getId());
+        }
+        StringeeRoom room = stringeeStream.getRoom();
+        if (room != null) {
+            // Or back into it while it was unsubscribing.
+            StringeeManager.getInstance().getSubscriptionPolicy().setOwned(room.getId(), stringeeStream.getId(), false);
+            applySubscriptionPolicy(room);
         }
     }
 
     @Override
     public void onStreamSubscribeError(StringeeStream stringeeStream, StringeeError stringeeError, boolean b) {
-        Callback callback = callbacksMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(false, stringeeError.getCode(), stringeeError.getMessage(), stringeeStream.getId(), b);
+        StringeeManager.getInstance().getStreamsRegistry().setState(stringeeStream.getId(), StringeeRegistry.STATE_ACTIVE);
+        if (stringeeStream.getRoom() != null) {
+            StringeeManager.getInstance().getSubscriptionPolicy().setOwned(stringeeStream.getRoom().getId(), stringeeStream.getId(), false);
+        }
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getSubscribeCallbacks().invoke(stringeeStream.getId(), false, stringeeError.getCode(), stringeeError.getMessage(), stringeeStream.getId(), b);
         }
     }
 
     @Override
     public void onStreamUnSubscribeError(StringeeStream stringeeStream, StringeeError stringeeError) {
-        Callback callback = unsubscribeCallbackMap.get(stringeeStream.getId());
-        if (callback != null) {
-            callback.invoke(false, stringeeError.getCode(), stringeeError.getMessage());
+        StringeeRegistry<String, StringeeStream> streamsRegistry = StringeeManager.getInstance().getStreamsRegistry();
+        if (STATE_UNSUBSCRIBING.equals(streamsRegistry.getState(stringeeStream.getId()))) {
+            streamsRegistry.setState(stringeeStream.getId(), STATE_SUBSCRIBED);
+        }
+        StringeeRoomState state = getRoomState(stringeeStream);
+        if (state != null) {
+            state.getUnsubscribeCallbacks().invoke(stringeeStream.getId(), false, stringeeError.getCode(), stringeeError.getMessage());
         }
     }
 
+    private boolean canSend(String eventName) {
+        return jsEvents.contains(eventName) || replayBuffer.accepts(eventName);
+    }
+
     private void sendEvent(ReactContext reactContext, String eventName, @Nullable WritableMap eventData) {
-        reactContext
-                .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-                .emit(eventName, eventData);
+        synchronized (replayBuffer) {
+            if (!jsEvents.contains(eventName)) {
+                replayBuffer.offer(eventName, eventData);
+                return;
+            }
+            StringeeManager.getInstance().getEventEmitter().emit(reactContext, eventName, eventData);
+        }
+    }
+
+    // Called with the replay buffer lock held, so no event can slip in between the drain and the subscription.
+    private void replayEvents(String eventName) {
+        List<WritableMap> events = replayBuffer.drain(eventName);
+        for (int i = 0; i < events.size(); i++) {
+            StringeeManager.getInstance().getEventEmitter().emit(getReactApplicationContext(), eventName, events.get(i));
+        }
     }
 
     @ReactMethod
     public void setNativeEvent(String event) {
-        jsEvents.add(event);
+        synchronized (replayBuffer) {
+            if (jsEvents.add(event)) {
+                replayEvents(event);
+            }
+        }
     }
 
     @ReactMethod
@@ -398,18 +756,9 @@ public class RNStringeeRoomModule extends ReactContextBaseJavaModule implements
         jsEvents.remove(event);
     }
 
-    private boolean contains(ArrayList array, String value) {
-        for (int i = 0; i < array.size(); i++) {
-            if (array.get(i).equals(value)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     @Override
     public void onStreamMediaAvailable(StringeeStream stringeeStream) {
-        if (contains(jsEvents, "onStreamMediaAvailable")) {
+        if (canSend("onStreamMediaAvailable")) {
             WritableMap params = Arguments.createMap();
             boolean isLocal = false;
             if (stringeeStream.getId() == null) {
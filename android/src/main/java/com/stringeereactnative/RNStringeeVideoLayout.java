@@ -1,7 +1,9 @@
 package com.stringeereactnative;
 
+import android.graphics.Rect;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
 
 import com.facebook.react.uimanager.ThemedReactContext;
@@ -19,6 +21,41 @@ public class RNStringeeVideoLayout extends FrameLayout {
     private FrameLayout mViewContainer;
     private boolean isOverlay;
     private boolean setOverlay;
+    private View boundView;
+    private boolean boundMode;
+    private boolean attached;
+    private boolean paused;
+    private final Rect visibleRect = new Rect();
+    private final ViewTreeObserver.OnScrollChangedListener scrollListener = new ViewTreeObserver.OnScrollChangedListener() {
+        @Override
+        public void onScrollChanged() {
+            updateVisibility();
+        }
+    };
+    // Tiles can also move in or out of view through layout alone, e.g. a grid reorder.
+    private final ViewTreeObserver.OnGlobalLayoutListener layoutListener = new ViewTreeObserver.OnGlobalLayoutListener() {
+        @Override
+        public void onGlobalLayout() {
+            updateVisibility();
+        }
+    };
+    // Only room stream tiles take part in the video budget of a room.
+    private final StringeeSubscriptionPolicy.Tile tile = new StringeeSubscriptionPolicy.Tile() {
+        @Override
+        public String getStreamId() {
+            return callId == null ? streamId : null;
+        }
+
+        @Override
+        public void onVideoAllowedChanged() {
+            post(new Runnable() {
+                @Override
+                public void run() {
+                    updateVisibility();
+                }
+            });
+        }
+    };
 
     public void setCallId(String callId) {
         this.callId = callId;
@@ -46,43 +83,121 @@ public class RNStringeeVideoLayout extends FrameLayout {
     }
 
     public void updateView() {
+        if (paused) {
+            return;
+        }
         if (callId != null) {
-            stringeeCall = StringeeManager.getInstance().getCallsMap().get(callId);
+            stringeeCall = StringeeManager.getInstance().getCallsRegistry().get(callId);
             if (stringeeCall != null && setLocal) {
-                if (mViewContainer.getChildCount() > 0) {
-                    mViewContainer.removeAllViews();
+                View v = isLocal ? stringeeCall.getLocalView() : stringeeCall.getRemoteView();
+                if (isBound(v, isLocal)) {
+                    return;
                 }
+                attach(v, isLocal);
                 if (isLocal) {
-                    View v = stringeeCall.getLocalView();
-                    if (v.getParent() != null) {
-                        ((ViewGroup) v.getParent()).removeView(v);
-                    }
-                    mViewContainer.addView(stringeeCall.getLocalView());
                     stringeeCall.renderLocalView(false);
                 } else {
-                    View v = stringeeCall.getRemoteView();
-                    if (v.getParent() != null) {
-                        ((ViewGroup) v.getParent()).removeView(v);
-                    }
-                    mViewContainer.addView(stringeeCall.getRemoteView());
                     stringeeCall.renderRemoteView(false);
                 }
             }
         } else if (streamId != null) {
-            stringeeStream = StringeeManager.getInstance().getStreamsMap().get(streamId);
+            stringeeStream = StringeeManager.getInstance().getStreamsRegistry().get(streamId);
             if (stringeeStream != null && setOverlay) {
-                if (mViewContainer.getChildCount() > 0) {
-                    mViewContainer.removeAllViews();
-                }
                 View v = stringeeStream.getView();
-                if (v.getParent() != null) {
-                    ((ViewGroup) v.getParent()).removeView(v);
+                if (isBound(v, isOverlay)) {
+                    return;
                 }
-                mViewContainer.addView(stringeeStream.getView());
+                attach(v, isOverlay);
                 stringeeStream.renderView(isOverlay);
             }
         }
 
         invalidate();
     }
+
+    // The render view is already shown in the same mode, re-adding it would only recreate its surface.
+    private boolean isBound(View v, boolean mode) {
+        return v != null && v == boundView && mode == boundMode && v.getParent() == mViewContainer;
+    }
+
+    private void attach(View v, boolean mode) {
+        if (mViewContainer.getChildCount() > 0) {
+            mViewContainer.removeAllViews();
+        }
+        if (v.getParent() != null) {
+            ((ViewGroup) v.getParent()).removeView(v);
+        }
+        mViewContainer.addView(v);
+        boundView = v;
+        boundMode = mode;
+    }
+
+    @Override
+    protected void onAttachedToWindow() {
+        super.onAttachedToWindow();
+        attached = true;
+        getViewTreeObserver().addOnScrollChangedListener(scrollListener);
+        getViewTreeObserver().addOnGlobalLayoutListener(layoutListener);
+        if (paused) {
+            updateVisibility();
+        }
+    }
+
+    @Override
+    protected void onDetachedFromWindow() {
+        getViewTreeObserver().removeOnScrollChangedListener(scrollListener);
+        getViewTreeObserver().removeOnGlobalLayoutListener(layoutListener);
+        attached = false;
+        StringeeManager.getInstance().getSubscriptionPolicy().setVisible(tile, false);
+        pause();
+        super.onDetachedFromWindow();
+    }
+
+    @Override
+    protected void onVisibilityChanged(View changedView, int visibility) {
+        super.onVisibilityChanged(changedView, visibility);
+        updateVisibility();
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        updateVisibility();
+    }
+
+    private boolean isVisibleOnScreen() {
+        return attached && isShown() && getWidth() > 0 && getHeight() > 0 && getGlobalVisibleRect(visibleRect);
+    }
+
+    // Releases the render view of a tile nobody can see, and binds it again once the tile is back on screen.
+    private void updateVisibility() {
+        if (!attached) {
+            return;
+        }
+        boolean visible = isVisibleOnScreen();
+        StringeeSubscriptionPolicy policy = StringeeManager.getInstance().getSubscriptionPolicy();
+        policy.setVisible(tile, visible);
+        boolean render = visible && policy.isVideoAllowed(tile);
+        if (!render && !paused) {
+            pause();
+        } else if (render && paused) {
+            resume();
+        }
+    }
+
+    private void pause() {
+        if (paused) {
+            return;
+        }
+        paused = true;
+        if (boundView != null && boundView.getParent() == mViewContainer) {
+            mViewContainer.removeView(boundView);
+        }
+        boundView = null;
+    }
+
+    private void resume() {
+        paused = false;
+        updateView();
+    }
 }
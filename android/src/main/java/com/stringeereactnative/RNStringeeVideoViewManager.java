@@ -18,27 +18,30 @@ public class RNStringeeVideoViewManager extends ViewGroupManager<RNStringeeVideo
         return new RNStringeeVideoLayout(reactContext);
     }
 
+    // Props are only collected by the setters, the view is bound once all of them are applied.
+    @Override
+    protected void onAfterUpdateTransaction(RNStringeeVideoLayout layout) {
+        super.onAfterUpdateTransaction(layout);
+        layout.updateView();
+    }
+
     @ReactProp(name = "callId")
     public void setCallId(RNStringeeVideoLayout layout, String callId) {
         layout.setCallId(callId);
-        layout.updateView();
     }
 
     @ReactProp(name = "local", defaultBoolean = false)
     public void setLocal(RNStringeeVideoLayout layout, boolean isLocal) {
         layout.setLocal(isLocal);
-        layout.updateView();
     }
 
     @ReactProp(name = "streamId")
     public void setStreamId(RNStringeeVideoLayout layout, String streamId) {
         layout.setStreamId(streamId);
-        layout.updateView();
     }
 
     @ReactProp(name = "overlay", defaultBoolean = false)
     public void setOverlay(RNStringeeVideoLayout layout, boolean isOverlay) {
         layout.setOverlay(isOverlay);
-        layout.updateView();
     }
 }
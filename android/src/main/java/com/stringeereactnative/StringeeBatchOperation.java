@@ -0,0 +1,105 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+public class StringeeBatchOperation {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    public interface Task {
+        void run(int index, StringeeBatchOperation operation);
+    }
+
+    public interface CompletionListener {
+        void onComplete(int failedCount, WritableArray results);
+    }
+
+    private final int count;
+    private final int maxInFlight;
+    private final Task task;
+    private final CompletionListener listener;
+    private final WritableMap[] results;
+    private int nextIndex;
+    private int completedCount;
+    private int failedCount;
+    private int pendingSlots;
+    private boolean dispatching;
+
+    public StringeeBatchOperation(int count, int maxInFlight, Task task, CompletionListener listener) {
+        this.count = count;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.task = task;
+        this.listener = listener;
+        this.results = new WritableMap[count];
+    }
+
+    public void start() {
+        if (count == 0) {
+            listener.onComplete(0, Arguments.createArray());
+            return;
+        }
+        dispatch(Math.min(maxInFlight, count));
+    }
+
+    public void complete(int index, boolean status, int code, String message) {
+        WritableMap result = Arguments.createMap();
+        result.putInt("code", code);
+        result.putString("message", message);
+        complete(index, status, result);
+    }
+
+    public void complete(int index, boolean status, WritableMap result) {
+        boolean finished;
+        synchronized (this) {
+            if (index < 0 || index >= count || results[index] != null) {
+                return;
+            }
+            result.putInt("index", index);
+            result.putBoolean("status", status);
+            results[index] = result;
+            completedCount++;
+            if (!status) {
+                failedCount++;
+            }
+            finished = completedCount == count;
+        }
+
+        if (finished) {
+            WritableArray resultsArray = Arguments.createArray();
+            for (int i = 0; i < count; i++) {
+                resultsArray.pushMap(results[i]);
+            }
+            listener.onComplete(failedCount, resultsArray);
+        } else {
+            dispatch(1);
+        }
+    }
+
+    // Tasks may complete synchronously, so dispatching loops here instead of recursing
+    // through complete(), and a completion on another thread hands its slot to the running loop.
+    private void dispatch(int slots) {
+        synchronized (this) {
+            pendingSlots += slots;
+            if (dispatching) {
+                return;
+            }
+            dispatching = true;
+        }
+
+        while (true) {
+            int index;
+            synchronized (this) {
+                if (pendingSlots == 0 || nextIndex >= count) {
+                    pendingSlots = 0;
+                    dispatching = false;
+                    return;
+                }
+                pendingSlots--;
+                index = nextIndex++;
+            }
+            task.run(index, this);
+        }
+    }
+}
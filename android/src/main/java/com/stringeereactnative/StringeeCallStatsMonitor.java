@@ -0,0 +1,103 @@
+package com.stringeereactnative;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.stringee.call.StringeeCall;
+
+public class StringeeCallStatsMonitor implements Runnable {
+
+    public static final int MIN_INTERVAL = 250;
+    public static final double DEFAULT_BITRATE_THRESHOLD = 10;
+    public static final double DEFAULT_LOSS_THRESHOLD = 1;
+
+    public interface Listener {
+        void onStats(String callId, WritableMap summary);
+
+        void onStopped(String callId);
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final StringeeStatsWindow window = new StringeeStatsWindow();
+    private final String callId;
+    private final int interval;
+    private final boolean onlyOnChange;
+    private final double bitrateThreshold;
+    private final double lossThreshold;
+    private final Listener listener;
+    private volatile boolean running;
+    private double reportedBitrate = -1;
+    private double reportedLoss = -1;
+
+    // Thresholds only apply when onlyOnChange is set: bitrate in percent of the last report,
+    // loss in percentage points.
+    public StringeeCallStatsMonitor(String callId, int interval, boolean onlyOnChange, double bitrateThreshold, double lossThreshold, Listener listener) {
+        this.callId = callId;
+        this.interval = Math.max(interval, MIN_INTERVAL);
+        this.onlyOnChange = onlyOnChange;
+        this.bitrateThreshold = bitrateThreshold;
+        this.lossThreshold = lossThreshold;
+        this.listener = listener;
+    }
+
+    public void start() {
+        running = true;
+        handler.post(this);
+    }
+
+    public void stop() {
+        running = false;
+        handler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+        if (!running) {
+            return;
+        }
+
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
+        if (call == null) {
+            stop();
+            listener.onStopped(callId);
+            return;
+        }
+
+        call.getStats(new StringeeCall.CallStatsListener() {
+            @Override
+            public void onCallStats(StringeeCall.StringeeCallStats stringeeCallStats) {
+                if (!running) {
+                    return;
+                }
+                window.add((long) stringeeCallStats.callBytesReceived, (long) stringeeCallStats.callPacketsLost,
+                        (long) stringeeCallStats.callPacketsReceived, (long) stringeeCallStats.timeStamp);
+                report();
+            }
+        });
+        handler.postDelayed(this, interval);
+    }
+
+    private synchronized void report() {
+        if (window.size() < 2) {
+            return;
+        }
+
+        double bitrate = window.getBitrate();
+        double loss = window.getPacketLossPercent();
+        if (onlyOnChange && reportedBitrate >= 0) {
+            double bitrateChange = reportedBitrate > 0 ? Math.abs(bitrate - reportedBitrate) * 100 / reportedBitrate : (bitrate > 0 ? 100 : 0);
+            if (bitrateChange < bitrateThreshold && Math.abs(loss - reportedLoss) < lossThreshold) {
+                return;
+            }
+        }
+        reportedBitrate = bitrate;
+        reportedLoss = loss;
+
+        WritableMap summary = Arguments.createMap();
+        summary.putString("callId", callId);
+        window.writeTo(summary);
+        listener.onStats(callId, summary);
+    }
+}
@@ -0,0 +1,73 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Records when each step of a call happened. Offsets come from System.nanoTime so they
+// are not affected by wall clock changes, startedAt is only there to place the call in time.
+public class StringeeCallTimeline {
+
+    // Setup durations reported in the summary, measured to the first occurrence of each step.
+    private static final String[] SUMMARY_STEPS = {"calling", "ringing", "initAnswer", "answer", "answered", "mediaConnected", "localStream", "remoteStream"};
+
+    private final long startedAt = System.currentTimeMillis();
+    private final long startNanos = System.nanoTime();
+    private final List<String> names = new ArrayList<>();
+    private final List<Long> offsets = new ArrayList<>();
+    private String callId;
+    private long lastMarkNanos = startNanos;
+
+    public synchronized void mark(String name) {
+        lastMarkNanos = System.nanoTime();
+        names.add(name);
+        offsets.add(lastMarkNanos - startNanos);
+    }
+
+    public synchronized long getLastMarkNanos() {
+        return lastMarkNanos;
+    }
+
+    public synchronized void setCallId(String callId) {
+        if (callId != null) {
+            this.callId = callId;
+        }
+    }
+
+    public synchronized String getCallId() {
+        return callId;
+    }
+
+    private double offsetOf(String name) {
+        int index = names.indexOf(name);
+        return index >= 0 ? offsets.get(index) / 1000000.0 : -1;
+    }
+
+    public synchronized WritableMap toMap() {
+        WritableArray events = Arguments.createArray();
+        for (int i = 0; i < names.size(); i++) {
+            WritableMap event = Arguments.createMap();
+            event.putString("name", names.get(i));
+            event.putDouble("time", offsets.get(i) / 1000000.0);
+            events.pushMap(event);
+        }
+
+        WritableMap summary = Arguments.createMap();
+        for (String step : SUMMARY_STEPS) {
+            double offset = offsetOf(step);
+            if (offset >= 0) {
+                summary.putDouble(step, offset);
+            }
+        }
+
+        WritableMap map = Arguments.createMap();
+        map.putString("callId", callId);
+        map.putDouble("startedAt", startedAt);
+        map.putArray("events", events);
+        map.putMap("summary", summary);
+        return map;
+    }
+}
@@ -0,0 +1,96 @@
+package com.stringeereactnative;
+
+import android.util.LruCache;
+
+import com.stringee.call.StringeeCall;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StringeeCallTimelineRecorder {
+
+    private static final int MAX_FINISHED = 32;
+    // Far more than the calls a device has at once, only reached when calls are never finished.
+    private static final int MAX_ACTIVE = 64;
+
+    // Keyed by the call object since outgoing calls have no id until they reach CALLING.
+    private final ConcurrentHashMap<StringeeCall, StringeeCallTimeline> active = new ConcurrentHashMap<>();
+    private final LruCache<String, StringeeCallTimeline> finished = new LruCache<>(MAX_FINISHED);
+
+    // Starts recording a call, or just adds the step when it is already recorded (an incoming call that is answered).
+    public void start(StringeeCall call, String name) {
+        if (call == null) {
+            return;
+        }
+        StringeeCallTimeline timeline = active.get(call);
+        if (timeline == null) {
+            StringeeCallTimeline newTimeline = new StringeeCallTimeline();
+            timeline = active.putIfAbsent(call, newTimeline);
+            if (timeline == null) {
+                timeline = newTimeline;
+                if (active.size() > MAX_ACTIVE) {
+                    evictIdlest(call);
+                }
+            }
+        }
+        timeline.setCallId(call.getCallId());
+        timeline.mark(name);
+    }
+
+    // Ignored for calls that are not recorded, so late callbacks of an ended call do not leak a timeline.
+    public void mark(StringeeCall call, String name) {
+        if (call == null) {
+            return;
+        }
+        StringeeCallTimeline timeline = active.get(call);
+        if (timeline != null) {
+            timeline.setCallId(call.getCallId());
+            timeline.mark(name);
+        }
+    }
+
+    // Moves the timeline of an ended call to the finished ones and returns it.
+    public StringeeCallTimeline finish(StringeeCall call) {
+        if (call == null) {
+            return null;
+        }
+        StringeeCallTimeline timeline = active.remove(call);
+        if (timeline != null) {
+            timeline.setCallId(call.getCallId());
+            if (timeline.getCallId() != null) {
+                finished.put(timeline.getCallId(), timeline);
+            }
+        }
+        return timeline;
+    }
+
+    // Finishes the timeline that has gone the longest without a step, most likely a call whose end was never reported.
+    private void evictIdlest(StringeeCall keep) {
+        StringeeCall idlest = null;
+        long idlestMark = 0;
+        for (Map.Entry<StringeeCall, StringeeCallTimeline> entry : active.entrySet()) {
+            long lastMark = entry.getValue().getLastMarkNanos();
+            if (entry.getKey() != keep && (idlest == null || lastMark - idlestMark < 0)) {
+                idlest = entry.getKey();
+                idlestMark = lastMark;
+            }
+        }
+        if (idlest != null) {
+            finish(idlest);
+        }
+    }
+
+    public StringeeCallTimeline get(String callId) {
+        if (callId == null) {
+            return null;
+        }
+        StringeeCall call = StringeeManager.getInstance().getCallsRegistry().get(callId);
+        if (call != null) {
+            StringeeCallTimeline timeline = active.get(call);
+            if (timeline != null) {
+                return timeline;
+            }
+        }
+        return finished.get(callId);
+    }
+}
@@ -0,0 +1,306 @@
+package com.stringeereactnative;
+
+import android.os.Bundle;
+import android.util.LruCache;
+import android.util.SparseArray;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.stringee.StringeeClient;
+import com.stringee.messaging.Conversation;
+import com.stringee.messaging.Message;
+import com.stringee.messaging.User;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+public class StringeeChatSerializer {
+
+    private static final int LAST_MSG_CACHE_SIZE = 64;
+
+    private interface ContentEncoder {
+        WritableMap encode(Message message);
+    }
+
+    private static final SparseArray<ContentEncoder> contentEncoders = new SparseArray<>();
+    private static final LruCache<String, Bundle> lastMsgCache = new LruCache<>(LAST_MSG_CACHE_SIZE);
+
+    static {
+        contentEncoders.put(1, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap contentMap = Arguments.createMap();
+                contentMap.putString("content", message.getText());
+                return contentMap;
+            }
+        });
+        contentEncoders.put(2, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap photoMap = Arguments.createMap();
+                photoMap.putString("filePath", message.getFileUrl());
+                photoMap.putString("thumbnail", message.getThumbnailUrl());
+                photoMap.putDouble("ratio", message.getImageRatio());
+                return wrap("photo", photoMap);
+            }
+        });
+        contentEncoders.put(3, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap videoMap = Arguments.createMap();
+                videoMap.putString("filePath", message.getFileUrl());
+                videoMap.putString("thumbnail", message.getThumbnailUrl());
+                videoMap.putDouble("ratio", message.getImageRatio());
+                videoMap.putInt("duration", message.getDuration());
+                return wrap("video", videoMap);
+            }
+        });
+        contentEncoders.put(4, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap audioMap = Arguments.createMap();
+                audioMap.putString("filePath", message.getFileUrl());
+                audioMap.putInt("duration", message.getDuration());
+                return wrap("audio", audioMap);
+            }
+        });
+        contentEncoders.put(5, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap fileMap = Arguments.createMap();
+                fileMap.putString("filePath", message.getFileUrl());
+                fileMap.putString("filename", message.getFileName());
+                fileMap.putDouble("length", message.getFileLength());
+                return wrap("file", fileMap);
+            }
+        });
+        ContentEncoder jsonEncoder = new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                try {
+                    return Arguments.fromBundle(jsonToBundle(message.getText()));
+                } catch (JSONException e) {
+                    e.printStackTrace();
+                    return Arguments.createMap();
+                }
+            }
+        };
+        contentEncoders.put(7, jsonEncoder);
+        contentEncoders.put(9, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap locationMap = Arguments.createMap();
+                locationMap.putDouble("lat", message.getLatitude());
+                locationMap.putDouble("lon", message.getLongitude());
+                return wrap("location", locationMap);
+            }
+        });
+        contentEncoders.put(10, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap contactMap = Arguments.createMap();
+                contactMap.putString("vcard", message.getContact());
+                return wrap("contact", contactMap);
+            }
+        });
+        contentEncoders.put(11, new ContentEncoder() {
+            @Override
+            public WritableMap encode(Message message) {
+                WritableMap stickerMap = Arguments.createMap();
+                stickerMap.putString("name", message.getStickerName());
+                stickerMap.putString("category", message.getStickerCategory());
+                return wrap("sticker", stickerMap);
+            }
+        });
+        contentEncoders.put(100, jsonEncoder);
+    }
+
+    private static WritableMap wrap(String key, WritableMap value) {
+        WritableMap contentMap = Arguments.createMap();
+        contentMap.putMap(key, value);
+        return contentMap;
+    }
+
+    public static WritableMap conversationToMap(Conversation conversation) {
+        WritableMap param = Arguments.createMap();
+        param.putString("id", conversation.getId());
+        param.putString("localId", conversation.getLocalId());
+        param.putString("name", conversation.getName());
+        param.putBoolean("isDistinct", conversation.isDistinct());
+        param.putBoolean("isGroup", conversation.isGroup());
+        param.putDouble("updatedAt", conversation.getUpdateAt());
+        param.putString("lastMsgSender", conversation.getLastMsgSender());
+        param.putInt("lastMsgType", conversation.getLastMsgType());
+        param.putInt("unreadCount", conversation.getTotalUnread());
+        param.putString("lastMsgId", conversation.getLastMsgId());
+        param.putString("creator", conversation.getCreator());
+        param.putDouble("created", conversation.getCreateAt());
+        param.putDouble("lastMsgSeq", conversation.getLastMsgSeqReceived());
+        param.putDouble("lastMsgCreatedAt", conversation.getLastTimeNewMsg());
+        param.putInt("lastMsgState", conversation.getLastMsgState());
+
+        Bundle lastMsg = parseLastMsg(conversation.getLastMsg());
+        if (lastMsg != null) {
+            param.putMap("text", Arguments.fromBundle(lastMsg));
+        } else {
+            param.putString("text", conversation.getText());
+        }
+
+        List<User> participants = conversation.getParticipants();
+        StringeeManager.getInstance().getUserCache().putAll(participants);
+        param.putArray("participants", usersToArray(participants));
+        return param;
+    }
+
+    public static WritableArray conversationsToArray(List<Conversation> conversations) {
+        StringeeMetrics metrics = StringeeManager.getInstance().getMetrics();
+        long start = metrics.startTimer();
+        WritableArray params = Arguments.createArray();
+        for (int i = 0; i < conversations.size(); i++) {
+            params.pushMap(conversationToMap(conversations.get(i)));
+        }
+        metrics.recordSerialization("conversations", start, conversations.size());
+        return params;
+    }
+
+    public static WritableMap messageToMap(Message message, String sender) {
+        WritableMap param = Arguments.createMap();
+        param.putString("id", message.getId());
+        param.putString("localId", message.getLocalId());
+        param.putString("conversationId", message.getConversationId());
+        param.putDouble("createdAt", message.getCreatedAt());
+        param.putInt("state", message.getState().getValue());
+        param.putDouble("sequence", message.getSequence());
+        param.putInt("type", message.getType());
+
+        ContentEncoder encoder = contentEncoders.get(message.getType());
+        if (encoder != null) {
+            param.putMap("content", encoder.encode(message));
+        } else {
+            param.putMap("content", Arguments.createMap());
+        }
+        param.putString("sender", sender);
+        return param;
+    }
+
+    public static Message createMessage(int type, ReadableMap msgMap) {
+        Message message = new Message(type);
+        switch (type) {
+            case 1:
+                message = new Message(msgMap.getString("content"));
+                break;
+            case 2:
+                message.setFileUrl(msgMap.getString("filePath"));
+                message.setThumbnailUrl(msgMap.getString("thumbnail"));
+                message.setImageRatio((float) msgMap.getDouble("ratio"));
+                break;
+            case 3:
+                message.setFileUrl(msgMap.getString("filePath"));
+                message.setThumbnailUrl(msgMap.getString("thumbnail"));
+                message.setImageRatio((float) msgMap.getDouble("ratio"));
+                message.setDuration(msgMap.getInt("duration"));
+                break;
+            case 4:
+                message.setFileUrl(msgMap.getString("filePath"));
+                message.setDuration(msgMap.getInt("duration"));
+                break;
+            case 5:
+                message.setFileUrl(msgMap.getString("filePath"));
+                message.setFileName(msgMap.getString("filename"));
+                message.setFileLength(msgMap.getInt("length"));
+                break;
+            case 9:
+                message.setLatitude(msgMap.getDouble("lat"));
+                message.setLongitude(msgMap.getDouble("lon"));
+                break;
+            case 10:
+                message.setContact(msgMap.getString("vcard"));
+                break;
+            case 11:
+                message.setStickerCategory(msgMap.getString("category"));
+                message.setStickerName(msgMap.getString("name"));
+                break;
+            default:
+                break;
+        }
+        return message;
+    }
+
+    public static WritableArray messagesToArray(List<Message> messages, StringeeClient client) {
+        StringeeMetrics metrics = StringeeManager.getInstance().getMetrics();
+        long start = metrics.startTimer();
+        WritableArray params = Arguments.createArray();
+        // A page usually has only a few distinct senders, resolve each of them once.
+        Map<String, String> senderNames = new HashMap<>();
+        for (int i = 0; i < messages.size(); i++) {
+            Message message = messages.get(i);
+            String senderId = message.getSenderId();
+            String sender = senderNames.get(senderId);
+            if (sender == null) {
+                sender = getSenderName(client, senderId);
+                senderNames.put(senderId, sender);
+            }
+            params.pushMap(messageToMap(message, sender));
+        }
+        metrics.recordSerialization("messages", start, messages.size());
+        return params;
+    }
+
+    public static String getSenderName(StringeeClient client, String senderId) {
+        return StringeeManager.getInstance().getUserCache().getName(client, senderId);
+    }
+
+    public static WritableMap userToMap(User user) {
+        WritableMap userMap = Arguments.createMap();
+        userMap.putString("userId", user.getUserId());
+        userMap.putString("name", user.getName());
+        userMap.putString("avatar", user.getAvatarUrl());
+        return userMap;
+    }
+
+    public static WritableArray usersToArray(List<User> users) {
+        WritableArray usersArray = Arguments.createArray();
+        for (int i = 0; i < users.size(); i++) {
+            usersArray.pushMap(userToMap(users.get(i)));
+        }
+        return usersArray;
+    }
+
+    // The last message of a conversation is re-sent with every list page and change event,
+    // keep the parsed form so the same JSON text is only parsed once.
+    private static Bundle parseLastMsg(String lastMsg) {
+        if (lastMsg == null) {
+            return null;
+        }
+
+        Bundle bundle = lastMsgCache.get(lastMsg);
+        if (bundle == null) {
+            try {
+                bundle = jsonToBundle(lastMsg);
+                lastMsgCache.put(lastMsg, bundle);
+            } catch (JSONException e) {
+                e.printStackTrace();
+            }
+        }
+        return bundle;
+    }
+
+    public static Bundle jsonToBundle(String text) throws JSONException {
+        JSONObject jsonObject = new JSONObject(text);
+        Bundle bundle = new Bundle();
+        Iterator iter = jsonObject.keys();
+        while (iter.hasNext()) {
+            String key = (String) iter.next();
+            String value = jsonObject.getString(key);
+            bundle.putString(key, value);
+        }
+        return bundle;
+    }
+}
@@ -0,0 +1,47 @@
+package com.stringeereactnative;
+
+import android.util.LruCache;
+
+import com.stringee.messaging.Conversation;
+
+import java.util.List;
+
+public class StringeeConversationCache {
+
+    private static final int MAX_SIZE = 128;
+
+    private final LruCache<String, Conversation> conversations = new LruCache<>(MAX_SIZE);
+
+    public Conversation get(String convId) {
+        if (convId == null) {
+            return null;
+        }
+        return conversations.get(convId);
+    }
+
+    public void put(Conversation conversation) {
+        if (conversation == null || conversation.getId() == null) {
+            return;
+        }
+        conversations.put(conversation.getId(), conversation);
+    }
+
+    public void putAll(List<Conversation> conversationList) {
+        if (conversationList == null) {
+            return;
+        }
+        for (int i = 0; i < conversationList.size(); i++) {
+            put(conversationList.get(i));
+        }
+    }
+
+    public void remove(String convId) {
+        if (convId != null) {
+            conversations.remove(convId);
+        }
+    }
+
+    public void clear() {
+        conversations.evictAll();
+    }
+}
@@ -0,0 +1,82 @@
+package com.stringeereactnative;
+
+import android.os.SystemClock;
+
+import com.stringee.messaging.Conversation;
+
+import java.util.List;
+
+public class StringeeConversationCursor {
+
+    public static final int DEFAULT_CHUNK_SIZE = 20;
+    // A cursor that is not fetched for this long is dropped, JS may stop reading without closing it.
+    public static final long IDLE_TIMEOUT = 5 * 60 * 1000;
+
+    private final String id;
+    private final boolean isBefore;
+    private final int chunkSize;
+    private long datetime;
+    private boolean hasDatetime;
+    private boolean fetching;
+    private long lastUsedAt = SystemClock.elapsedRealtime();
+
+    public StringeeConversationCursor(String id, boolean isBefore, int chunkSize) {
+        this.id = id;
+        this.isBefore = isBefore;
+        this.chunkSize = chunkSize > 0 ? chunkSize : DEFAULT_CHUNK_SIZE;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isBefore() {
+        return isBefore;
+    }
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public synchronized long getDatetime() {
+        return datetime;
+    }
+
+    public synchronized boolean hasDatetime() {
+        return hasDatetime;
+    }
+
+    public synchronized void setDatetime(long datetime) {
+        this.datetime = datetime;
+        hasDatetime = true;
+    }
+
+    public synchronized boolean beginFetch() {
+        if (fetching) {
+            return false;
+        }
+        fetching = true;
+        lastUsedAt = SystemClock.elapsedRealtime();
+        return true;
+    }
+
+    public synchronized boolean isExpired() {
+        return !fetching && SystemClock.elapsedRealtime() - lastUsedAt > IDLE_TIMEOUT;
+    }
+
+    public synchronized void endFetch() {
+        fetching = false;
+    }
+
+    // Moves the cursor past the given page: to the oldest update when paging backwards,
+    // to the newest one when paging forwards.
+    public synchronized void advance(List<Conversation> conversations) {
+        for (int i = 0; i < conversations.size(); i++) {
+            long updatedAt = conversations.get(i).getUpdateAt();
+            if (!hasDatetime || (isBefore && updatedAt < datetime) || (!isBefore && updatedAt > datetime)) {
+                datetime = updatedAt;
+                hasDatetime = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.stringeereactnative;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.support.annotation.Nullable;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+public class StringeeEventEmitter {
+
+    public static final String BATCH_EVENT = "onBatchedEvents";
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushRunnable = new Runnable() {
+        @Override
+        public void run() {
+            flush();
+        }
+    };
+
+    private ReactContext reactContext;
+    private WritableArray pendingEvents;
+    private int pendingCount;
+    private int batchWindow;
+    private int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+
+    // A batch window of 0 disables batching and emits every event as soon as it is sent.
+    public synchronized void configure(int batchWindow, int maxBatchSize) {
+        flush();
+        this.batchWindow = Math.max(batchWindow, 0);
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+    }
+
+    public synchronized int getBatchWindow() {
+        return batchWindow;
+    }
+
+    public synchronized int getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public synchronized void emit(ReactContext reactContext, String eventName, @Nullable WritableMap eventData) {
+        if (batchWindow <= 0) {
+            reactContext
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(eventName, eventData);
+            return;
+        }
+
+        this.reactContext = reactContext;
+        if (pendingEvents == null) {
+            pendingEvents = Arguments.createArray();
+            handler.postDelayed(flushRunnable, batchWindow);
+        }
+
+        WritableMap event = Arguments.createMap();
+        event.putString("name", eventName);
+        if (eventData != null) {
+            event.putMap("data", eventData);
+        } else {
+            event.putNull("data");
+        }
+        pendingEvents.pushMap(event);
+        pendingCount++;
+
+        if (pendingCount >= maxBatchSize) {
+            flush();
+        }
+    }
+
+    // Skips batching for events that must reach JS right away, what is already pending is flushed first to keep the order.
+    public synchronized void emitNow(ReactContext reactContext, String eventName, @Nullable WritableMap eventData) {
+        flush();
+        if (reactContext.hasActiveCatalystInstance()) {
+            reactContext
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(eventName, eventData);
+        }
+    }
+
+    public synchronized void flush() {
+        handler.removeCallbacks(flushRunnable);
+        if (pendingEvents == null) {
+            return;
+        }
+
+        WritableArray events = pendingEvents;
+        pendingEvents = null;
+        pendingCount = 0;
+        if (reactContext.hasActiveCatalystInstance()) {
+            reactContext
+                    .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+                    .emit(BATCH_EVENT, events);
+        }
+    }
+}
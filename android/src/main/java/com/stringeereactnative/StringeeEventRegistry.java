@@ -0,0 +1,54 @@
+package com.stringeereactnative;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class StringeeEventRegistry {
+
+    private final ConcurrentHashMap<String, AtomicInteger> subscriptions = new ConcurrentHashMap<>();
+
+    public boolean add(String event) {
+        if (event == null) {
+            return false;
+        }
+
+        AtomicInteger count = subscriptions.get(event);
+        if (count == null) {
+            AtomicInteger newCount = new AtomicInteger();
+            count = subscriptions.putIfAbsent(event, newCount);
+            if (count == null) {
+                count = newCount;
+            }
+        }
+        return count.incrementAndGet() == 1;
+    }
+
+    public boolean remove(String event) {
+        if (event == null) {
+            return false;
+        }
+
+        AtomicInteger count = subscriptions.get(event);
+        if (count == null) {
+            return false;
+        }
+        while (true) {
+            int current = count.get();
+            if (current <= 0) {
+                return false;
+            }
+            if (count.compareAndSet(current, current - 1)) {
+                return current == 1;
+            }
+        }
+    }
+
+    public boolean contains(String event) {
+        if (event == null) {
+            return false;
+        }
+
+        AtomicInteger count = subscriptions.get(event);
+        return count != null && count.get() > 0;
+    }
+}
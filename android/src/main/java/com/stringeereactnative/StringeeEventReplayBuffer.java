@@ -0,0 +1,81 @@
+package com.stringeereactnative;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Keeps the last events of each type emitted before JS first subscribed to them, so they can be
+// delivered in order once it does. Only the startup window is covered: once an event type has been
+// subscribed it is never buffered again, so events arriving after an unmount are not replayed to the
+// next screen. Entries older than MAX_AGE are dropped and the oldest event goes when a queue is full.
+// Callers hold the buffer's lock around their jsEvents check and the offer or drain that follows.
+public class StringeeEventReplayBuffer {
+
+    // Replay is off unless the eventReplaySize init option is set.
+    public static final int DEFAULT_CAPACITY = 0;
+    public static final long MAX_AGE = 30000;
+
+    private static class Entry {
+        final WritableMap data;
+        final long queuedAt = SystemClock.elapsedRealtime();
+
+        Entry(WritableMap data) {
+            this.data = data;
+        }
+    }
+
+    private final Map<String, ArrayDeque<Entry>> events = new HashMap<>();
+    private final Set<String> subscribed = new HashSet<>();
+
+    // Whether an event nobody listens to yet would still be kept, callers skip building it otherwise.
+    public synchronized boolean accepts(String event) {
+        return StringeeManager.getInstance().getEventReplaySize() > 0 && !subscribed.contains(event);
+    }
+
+    public synchronized void offer(String event, WritableMap data) {
+        int capacity = StringeeManager.getInstance().getEventReplaySize();
+        if (event == null || capacity <= 0 || subscribed.contains(event)) {
+            return;
+        }
+
+        ArrayDeque<Entry> queue = events.get(event);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            events.put(event, queue);
+        }
+        queue.addLast(new Entry(data != null ? data : Arguments.createMap()));
+        while (queue.size() > capacity) {
+            queue.removeFirst();
+        }
+    }
+
+    // Returns the events still fresh enough to replay and stops buffering this event type.
+    public synchronized List<WritableMap> drain(String event) {
+        subscribed.add(event);
+        List<WritableMap> fresh = new ArrayList<>();
+        ArrayDeque<Entry> queue = events.remove(event);
+        if (queue == null) {
+            return fresh;
+        }
+        long now = SystemClock.elapsedRealtime();
+        for (Entry entry : queue) {
+            if (now - entry.queuedAt <= MAX_AGE) {
+                fresh.add(entry.data);
+            }
+        }
+        return fresh;
+    }
+
+    public synchronized void clear() {
+        events.clear();
+    }
+}
@@ -0,0 +1,62 @@
+package com.stringeereactnative;
+
+import com.stringee.call.StringeeCall;
+
+import org.json.JSONObject;
+
+import java.util.Locale;
+
+// Set on every incoming call as soon as it arrives, until initAnswer hands the call to RNStringeeCallModule.
+// A call that is missed, hung up by the caller or handled on another device before that
+// is dropped from the registry and the incoming call queue, and its timeline is finished.
+public class StringeeIncomingCallListener implements StringeeCall.StringeeCallListener {
+
+    private final StringeeIncomingCallQueue incomingCalls;
+
+    public StringeeIncomingCallListener(StringeeIncomingCallQueue incomingCalls) {
+        this.incomingCalls = incomingCalls;
+    }
+
+    @Override
+    public void onSignalingStateChange(StringeeCall stringeeCall, StringeeCall.SignalingState signalingState, String reason, int sipCode, String sipReason) {
+        StringeeManager.getInstance().getCallTimelines().mark(stringeeCall, signalingState.name().toLowerCase(Locale.US));
+        if (signalingState == StringeeCall.SignalingState.ENDED || signalingState == StringeeCall.SignalingState.BUSY) {
+            release(stringeeCall);
+        }
+    }
+
+    @Override
+    public void onError(StringeeCall stringeeCall, int code, String desc) {
+        StringeeManager.getInstance().getCallTimelines().mark(stringeeCall, "error");
+    }
+
+    @Override
+    public void onHandledOnAnotherDevice(StringeeCall stringeeCall, StringeeCall.SignalingState signalingState, String s) {
+        StringeeManager.getInstance().getCallTimelines().mark(stringeeCall, "handledOnAnotherDevice");
+        if (signalingState != StringeeCall.SignalingState.RINGING) {
+            release(stringeeCall);
+        }
+    }
+
+    @Override
+    public void onMediaStateChange(StringeeCall stringeeCall, StringeeCall.MediaState mediaState) {
+    }
+
+    @Override
+    public void onLocalStream(StringeeCall stringeeCall) {
+    }
+
+    @Override
+    public void onRemoteStream(StringeeCall stringeeCall) {
+    }
+
+    @Override
+    public void onCallInfo(StringeeCall stringeeCall, JSONObject jsonObject) {
+    }
+
+    private void release(StringeeCall stringeeCall) {
+        StringeeManager.getInstance().getCallsRegistry().remove(stringeeCall.getCallId(), stringeeCall);
+        incomingCalls.remove(stringeeCall);
+        StringeeManager.getInstance().getCallTimelines().finish(stringeeCall);
+    }
+}
@@ -0,0 +1,81 @@
+package com.stringeereactnative;
+
+import android.os.SystemClock;
+
+import com.stringee.call.StringeeCall;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+
+// Holds incoming calls that arrived before JS subscribed to onIncomingCall,
+// for example on a cold start from a push notification.
+public class StringeeIncomingCallQueue {
+
+    public static final int DEFAULT_CAPACITY = 16;
+    public static final long DEFAULT_MAX_AGE = 60000;
+
+    public static class Entry {
+        public final StringeeCall call;
+        public final long receivedAt;
+        final long queuedAt;
+
+        Entry(StringeeCall call, long receivedAt) {
+            this.call = call;
+            this.receivedAt = receivedAt;
+            this.queuedAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    private final LinkedList<Entry> entries = new LinkedList<>();
+    private final int capacity;
+    private final long maxAge;
+
+    public StringeeIncomingCallQueue() {
+        this(DEFAULT_CAPACITY, DEFAULT_MAX_AGE);
+    }
+
+    public StringeeIncomingCallQueue(int capacity, long maxAge) {
+        this.capacity = capacity;
+        this.maxAge = maxAge;
+    }
+
+    // Returns the call pushed out when the queue is full, or null.
+    public synchronized StringeeCall offer(StringeeCall call, long receivedAt) {
+        entries.addLast(new Entry(call, receivedAt));
+        if (entries.size() > capacity) {
+            return entries.removeFirst().call;
+        }
+        return null;
+    }
+
+    // Drops a call that ended while it was waiting.
+    public synchronized boolean remove(StringeeCall call) {
+        for (int i = 0; i < entries.size(); i++) {
+            if (entries.get(i).call == call) {
+                entries.remove(i);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Empties the queue. Entries older than the max age go to the expired list.
+    public synchronized List<Entry> drain(List<Entry> expired) {
+        long now = SystemClock.elapsedRealtime();
+        List<Entry> live = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (now - entry.queuedAt > maxAge) {
+                expired.add(entry);
+            } else {
+                live.add(entry);
+            }
+        }
+        entries.clear();
+        return live;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+}
@@ -0,0 +1,59 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Fixed power-of-two buckets in microseconds, bucket i holding values below 2^i us.
+// Recording only touches atomics so it never allocates.
+public class StringeeLatencyHistogram {
+
+    private static final int BUCKET_COUNT = 26;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalMicros = new AtomicLong();
+    private final AtomicLong maxMicros = new AtomicLong();
+    private final AtomicLong totalItems = new AtomicLong();
+
+    public void record(long nanos, int items) {
+        long micros = Math.max(nanos / 1000, 0);
+        int bucket = Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKET_COUNT - 1);
+        buckets.incrementAndGet(bucket);
+        count.incrementAndGet();
+        totalMicros.addAndGet(micros);
+        totalItems.addAndGet(items);
+        long max = maxMicros.get();
+        while (micros > max && !maxMicros.compareAndSet(max, micros)) {
+            max = maxMicros.get();
+        }
+    }
+
+    // Upper bound of the bucket holding the given percentile, in milliseconds.
+    private double percentile(long total, double percent) {
+        long rank = (long) Math.ceil(total * percent / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return (1L << i) / 1000.0;
+            }
+        }
+        return maxMicros.get() / 1000.0;
+    }
+
+    public WritableMap toMap() {
+        long total = count.get();
+        WritableMap map = Arguments.createMap();
+        map.putDouble("count", total);
+        map.putDouble("mean", total > 0 ? totalMicros.get() / 1000.0 / total : 0);
+        map.putDouble("max", maxMicros.get() / 1000.0);
+        map.putDouble("p50", total > 0 ? percentile(total, 50) : 0);
+        map.putDouble("p95", total > 0 ? percentile(total, 95) : 0);
+        map.putDouble("p99", total > 0 ? percentile(total, 99) : 0);
+        map.putDouble("averageItems", total > 0 ? (double) totalItems.get() / total : 0);
+        return map;
+    }
+}
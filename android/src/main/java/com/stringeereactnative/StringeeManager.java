@@ -1,20 +1,27 @@
 package com.stringeereactnative;
 
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
 import com.stringee.StringeeClient;
 import com.stringee.call.StringeeCall;
 import com.stringee.conference.StringeeRoom;
 import com.stringee.conference.StringeeStream;
 
-import java.util.HashMap;
-import java.util.Map;
 
 public class StringeeManager {
 
     private static StringeeManager stringeeManager;
     private StringeeClient mClient;
-    private Map<String, StringeeCall> callsMap = new HashMap<>();
-    private Map<String, StringeeStream> streamsMap = new HashMap<>();
-    private Map<Integer, StringeeRoom> roomsMap = new HashMap<>();
+    private final StringeeRegistry<String, StringeeCall> callsRegistry = new StringeeRegistry<>();
+    private final StringeeRegistry<String, StringeeStream> streamsRegistry = new StringeeRegistry<>();
+    private final StringeeRegistry<Integer, StringeeRoom> roomsRegistry = new StringeeRegistry<>();
+    private StringeeEventEmitter eventEmitter = new StringeeEventEmitter();
+    private StringeeUserCache userCache = new StringeeUserCache();
+    private StringeeConversationCache conversationCache = new StringeeConversationCache();
+    private StringeeMetrics metrics = new StringeeMetrics();
+    private StringeeCallTimelineRecorder callTimelines = new StringeeCallTimelineRecorder();
+    private StringeeSubscriptionPolicy subscriptionPolicy = new StringeeSubscriptionPolicy();
+    private volatile int eventReplaySize = StringeeEventReplayBuffer.DEFAULT_CAPACITY;
 
     public static synchronized StringeeManager getInstance() {
         if (stringeeManager == null) {
@@ -32,27 +39,66 @@ public class StringeeManager {
         this.mClient = mClient;
     }
 
-    public Map<String, StringeeCall> getCallsMap() {
-        return callsMap;
+    public StringeeEventEmitter getEventEmitter() {
+        return eventEmitter;
     }
 
-    public void setCallsMap(Map<String, StringeeCall> callsMap) {
-        this.callsMap = callsMap;
+    public StringeeUserCache getUserCache() {
+        return userCache;
     }
 
-    public Map<String, StringeeStream> getStreamsMap() {
-        return streamsMap;
+    public StringeeConversationCache getConversationCache() {
+        return conversationCache;
     }
 
-    public void setStreamsMap(Map<String, StringeeStream> streamsMap) {
-        this.streamsMap = streamsMap;
+    public StringeeSubscriptionPolicy getSubscriptionPolicy() {
+        return subscriptionPolicy;
     }
 
-    public Map<Integer, StringeeRoom> getRoomsMap() {
-        return roomsMap;
+    public StringeeCallTimelineRecorder getCallTimelines() {
+        return callTimelines;
     }
 
-    public void setRoomsMap(Map<Integer, StringeeRoom> roomsMap) {
-        this.roomsMap = roomsMap;
+    public StringeeMetrics getMetrics() {
+        return metrics;
+    }
+
+    public int getEventReplaySize() {
+        return eventReplaySize;
+    }
+
+    public void setEventReplaySize(int eventReplaySize) {
+        this.eventReplaySize = Math.max(eventReplaySize, 0);
+    }
+
+    public StringeeRegistry<String, StringeeCall> getCallsRegistry() {
+        return callsRegistry;
+    }
+
+    public StringeeRegistry<String, StringeeStream> getStreamsRegistry() {
+        return streamsRegistry;
+    }
+
+    public StringeeRegistry<Integer, StringeeRoom> getRoomsRegistry() {
+        return roomsRegistry;
+    }
+
+    public void removeRoom(final int roomId) {
+        roomsRegistry.remove(roomId);
+        subscriptionPolicy.clear(roomId);
+        streamsRegistry.removeAll(new StringeeRegistry.Filter<String, StringeeStream>() {
+            @Override
+            public boolean matches(String streamId, StringeeStream stream) {
+                return stream.getRoom() != null && stream.getRoom().getId() == roomId;
+            }
+        });
+    }
+
+    public WritableMap getRegistryStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putMap("calls", callsRegistry.getStats());
+        stats.putMap("streams", streamsRegistry.getStats());
+        stats.putMap("rooms", roomsRegistry.getStats());
+        return stats;
     }
 }
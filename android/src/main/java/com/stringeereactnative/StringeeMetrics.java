@@ -0,0 +1,92 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.ReadableArray;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Opt-in latency metrics for the bridge methods and the chat serializers.
+// Nothing is measured or wrapped while disabled.
+public class StringeeMetrics {
+
+    private final ConcurrentHashMap<String, StringeeLatencyHistogram> methods = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, StringeeLatencyHistogram> serializations = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void reset() {
+        methods.clear();
+        serializations.clear();
+    }
+
+    // Wraps a bridge callback so the time from the method call to the callback is recorded,
+    // along with the number of items in the array arguments it is invoked with.
+    public Callback track(final String method, final Callback callback) {
+        if (!enabled || callback == null) {
+            return callback;
+        }
+
+        final long start = System.nanoTime();
+        return new Callback() {
+            @Override
+            public void invoke(Object... args) {
+                int items = 0;
+                for (Object arg : args) {
+                    if (arg instanceof ReadableArray) {
+                        items += ((ReadableArray) arg).size();
+                    }
+                }
+                histogram(methods, method).record(System.nanoTime() - start, items);
+                callback.invoke(args);
+            }
+        };
+    }
+
+    public long startTimer() {
+        return enabled ? System.nanoTime() : 0;
+    }
+
+    public void recordSerialization(String name, long start, int items) {
+        if (start != 0) {
+            histogram(serializations, name).record(System.nanoTime() - start, items);
+        }
+    }
+
+    private StringeeLatencyHistogram histogram(ConcurrentHashMap<String, StringeeLatencyHistogram> histograms, String name) {
+        StringeeLatencyHistogram histogram = histograms.get(name);
+        if (histogram == null) {
+            StringeeLatencyHistogram newHistogram = new StringeeLatencyHistogram();
+            histogram = histograms.putIfAbsent(name, newHistogram);
+            if (histogram == null) {
+                histogram = newHistogram;
+            }
+        }
+        return histogram;
+    }
+
+    private WritableMap toMap(ConcurrentHashMap<String, StringeeLatencyHistogram> histograms) {
+        WritableMap map = Arguments.createMap();
+        for (Map.Entry<String, StringeeLatencyHistogram> entry : histograms.entrySet()) {
+            map.putMap(entry.getKey(), entry.getValue().toMap());
+        }
+        return map;
+    }
+
+    public WritableMap getMetrics() {
+        WritableMap metrics = Arguments.createMap();
+        metrics.putBoolean("enabled", enabled);
+        metrics.putMap("methods", toMap(methods));
+        metrics.putMap("serialization", toMap(serializations));
+        return metrics;
+    }
+}
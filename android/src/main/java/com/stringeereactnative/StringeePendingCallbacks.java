@@ -0,0 +1,105 @@
+package com.stringeereactnative;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.Callback;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// React callbacks may only be invoked once, so every pending callback is removed
+// before it is invoked, whichever of completion or timeout comes first.
+public class StringeePendingCallbacks<K> {
+
+    private class Pending implements Runnable {
+        final K key;
+        final Callback callback;
+        final Object[] timeoutArgs;
+
+        Pending(K key, Callback callback, Object[] timeoutArgs) {
+            this.key = key;
+            this.callback = callback;
+            this.timeoutArgs = timeoutArgs;
+        }
+
+        @Override
+        public void run() {
+            if (pending.remove(key, this)) {
+                timedOutCount.incrementAndGet();
+                callback.invoke(timeoutArgs);
+            }
+        }
+    }
+
+    private final ConcurrentHashMap<K, Pending> pending = new ConcurrentHashMap<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final long timeout;
+    private final AtomicLong addedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong timedOutCount = new AtomicLong();
+
+    public StringeePendingCallbacks(long timeout) {
+        this.timeout = timeout;
+    }
+
+    // Registers a callback and the arguments it receives if nothing completes it in time.
+    // A callback already pending under the same key is timed out right away.
+    public void add(K key, Callback callback, Object... timeoutArgs) {
+        Pending entry = new Pending(key, callback, timeoutArgs);
+        Pending previous = pending.put(key, entry);
+        addedCount.incrementAndGet();
+        if (previous != null) {
+            handler.removeCallbacks(previous);
+            timedOutCount.incrementAndGet();
+            previous.callback.invoke(previous.timeoutArgs);
+        }
+        if (timeout > 0) {
+            handler.postDelayed(entry, timeout);
+        }
+    }
+
+    public boolean invoke(K key, Object... args) {
+        if (key == null) {
+            return false;
+        }
+        Pending entry = pending.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        handler.removeCallbacks(entry);
+        completedCount.incrementAndGet();
+        entry.callback.invoke(args);
+        return true;
+    }
+
+    // Completes every pending callback with the same arguments, e.g. when the object they wait on is gone.
+    public int invokeAll(Object... args) {
+        int count = 0;
+        for (K key : pending.keySet()) {
+            if (invoke(key, args)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public boolean contains(K key) {
+        return key != null && pending.containsKey(key);
+    }
+
+    public int size() {
+        return pending.size();
+    }
+
+    public WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("pending", pending.size());
+        stats.putDouble("added", addedCount.get());
+        stats.putDouble("completed", completedCount.get());
+        stats.putDouble("timedOut", timedOutCount.get());
+        return stats;
+    }
+}
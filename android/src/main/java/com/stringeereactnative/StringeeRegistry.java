@@ -0,0 +1,165 @@
+package com.stringeereactnative;
+
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class StringeeRegistry<K, V> {
+
+    public static final String STATE_ACTIVE = "active";
+
+    private static class Entry<V> {
+        final V value;
+        final long createdAt;
+        volatile String state = STATE_ACTIVE;
+
+        Entry(V value) {
+            this.value = value;
+            this.createdAt = SystemClock.elapsedRealtime();
+        }
+    }
+
+    public interface Filter<K, V> {
+        boolean matches(K key, V value);
+    }
+
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final AtomicLong addedCount = new AtomicLong();
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    public V get(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.value : null;
+    }
+
+    public void put(K key, V value) {
+        if (key == null || value == null) {
+            return;
+        }
+        Entry<V> previous = entries.put(key, new Entry<>(value));
+        if (previous == null) {
+            addedCount.incrementAndGet();
+        }
+    }
+
+    // Returns the value already registered for the key, or null if this value was added.
+    public V putIfAbsent(K key, V value) {
+        if (key == null || value == null) {
+            return null;
+        }
+        Entry<V> previous = entries.putIfAbsent(key, new Entry<>(value));
+        if (previous != null) {
+            return previous.value;
+        }
+        addedCount.incrementAndGet();
+        return null;
+    }
+
+    public V remove(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        evictedCount.incrementAndGet();
+        return entry.value;
+    }
+
+    // Removes the entry only while the key is still bound to this value, so a late callback
+    // for an old object can not evict a newer one registered under the same key.
+    public boolean remove(K key, V value) {
+        if (key == null || value == null) {
+            return false;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry == null || entry.value != value || !entries.remove(key, entry)) {
+            return false;
+        }
+        evictedCount.incrementAndGet();
+        return true;
+    }
+
+    public List<V> findAll(Filter<K, V> filter) {
+        List<V> found = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (filter.matches(entry.getKey(), entry.getValue().value)) {
+                found.add(entry.getValue().value);
+            }
+        }
+        return found;
+    }
+
+    public List<V> removeAll(Filter<K, V> filter) {
+        List<V> removed = new ArrayList<>();
+        for (Map.Entry<K, Entry<V>> entry : entries.entrySet()) {
+            if (filter.matches(entry.getKey(), entry.getValue().value) && entries.remove(entry.getKey(), entry.getValue())) {
+                evictedCount.incrementAndGet();
+                removed.add(entry.getValue().value);
+            }
+        }
+        return removed;
+    }
+
+    public void setState(K key, String state) {
+        if (key == null) {
+            return;
+        }
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            entry.state = state;
+        }
+    }
+
+    public String getState(K key) {
+        if (key == null) {
+            return null;
+        }
+        Entry<V> entry = entries.get(key);
+        return entry != null ? entry.state : null;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public WritableMap getStats() {
+        long now = SystemClock.elapsedRealtime();
+        long oldestAge = 0;
+        long totalAge = 0;
+        WritableMap states = Arguments.createMap();
+        Map<String, Integer> stateCounts = new HashMap<>();
+        for (Entry<V> entry : entries.values()) {
+            long age = now - entry.createdAt;
+            oldestAge = Math.max(oldestAge, age);
+            totalAge += age;
+            Integer stateCount = stateCounts.get(entry.state);
+            stateCounts.put(entry.state, stateCount != null ? stateCount + 1 : 1);
+        }
+        for (Map.Entry<String, Integer> stateCount : stateCounts.entrySet()) {
+            states.putInt(stateCount.getKey(), stateCount.getValue());
+        }
+
+        int size = entries.size();
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("size", size);
+        stats.putDouble("added", addedCount.get());
+        stats.putDouble("evicted", evictedCount.get());
+        stats.putDouble("oldestAge", oldestAge);
+        stats.putDouble("averageAge", size > 0 ? (double) totalAge / size : 0);
+        stats.putMap("states", states);
+        return stats;
+    }
+}
@@ -0,0 +1,91 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+import com.stringee.conference.StringeeRoom;
+import com.stringee.conference.StringeeStream;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Everything RNStringeeRoomModule tracks for one joined room, so several rooms can be used at once.
+public class StringeeRoomState {
+
+    public static final long OPERATION_TIMEOUT = 30000;
+
+    private final StringeeRoom room;
+    private final Map<String, StringeeStream> localStreams = new LinkedHashMap<>();
+    private StringeeStream localStream;
+    // Publish callbacks are keyed by the custom id of the local stream, the others by stream id.
+    private final StringeePendingCallbacks<String> publishCallbacks = new StringeePendingCallbacks<>(OPERATION_TIMEOUT);
+    private final StringeePendingCallbacks<String> unpublishCallbacks = new StringeePendingCallbacks<>(OPERATION_TIMEOUT);
+    private final StringeePendingCallbacks<String> subscribeCallbacks = new StringeePendingCallbacks<>(OPERATION_TIMEOUT);
+    private final StringeePendingCallbacks<String> unsubscribeCallbacks = new StringeePendingCallbacks<>(OPERATION_TIMEOUT);
+
+    public StringeeRoomState(StringeeRoom room) {
+        this.room = room;
+    }
+
+    public StringeeRoom getRoom() {
+        return room;
+    }
+
+    // Local streams are keyed by custom id since they have no stream id until published.
+    public synchronized void addLocalStream(StringeeStream stream) {
+        localStreams.put(stream.getCustomId(), stream);
+        localStream = stream;
+    }
+
+    public synchronized boolean hasLocalStream(String customId) {
+        return customId != null && localStreams.containsKey(customId);
+    }
+
+    public synchronized void removeLocalStream(StringeeStream stream) {
+        localStreams.remove(stream.getCustomId());
+        if (localStream == stream) {
+            localStream = null;
+            for (StringeeStream remaining : localStreams.values()) {
+                localStream = remaining;
+            }
+        }
+    }
+
+    // The most recently published local stream, the one the camera and mute controls act on.
+    public synchronized StringeeStream getLocalStream() {
+        return localStream;
+    }
+
+    public StringeePendingCallbacks<String> getPublishCallbacks() {
+        return publishCallbacks;
+    }
+
+    public StringeePendingCallbacks<String> getUnpublishCallbacks() {
+        return unpublishCallbacks;
+    }
+
+    public StringeePendingCallbacks<String> getSubscribeCallbacks() {
+        return subscribeCallbacks;
+    }
+
+    public StringeePendingCallbacks<String> getUnsubscribeCallbacks() {
+        return unsubscribeCallbacks;
+    }
+
+    // Fails every operation still waiting on the room, once it is left or disconnected.
+    public void cancelPending(int code, String message) {
+        publishCallbacks.invokeAll(false, code, message, "", false);
+        unpublishCallbacks.invokeAll(false, code, message);
+        subscribeCallbacks.invokeAll(false, code, message, "", false);
+        unsubscribeCallbacks.invokeAll(false, code, message);
+    }
+
+    public synchronized WritableMap getStats() {
+        WritableMap stats = Arguments.createMap();
+        stats.putInt("localStreams", localStreams.size());
+        stats.putMap("publish", publishCallbacks.getStats());
+        stats.putMap("unpublish", unpublishCallbacks.getStats());
+        stats.putMap("subscribe", subscribeCallbacks.getStats());
+        stats.putMap("unsubscribe", unsubscribeCallbacks.getStats());
+        return stats;
+    }
+}
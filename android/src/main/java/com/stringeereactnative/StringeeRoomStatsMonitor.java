@@ -0,0 +1,160 @@
+package com.stringeereactnative;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.stringee.conference.StringeeRoom;
+import com.stringee.conference.StringeeStream;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Samples every stream of a room on a single timer and reports them together,
+// once all streams of a round have answered or the next round starts.
+public class StringeeRoomStatsMonitor implements Runnable {
+
+    public static final int MIN_INTERVAL = 250;
+
+    public interface Listener {
+        void onStats(int roomId, WritableMap report);
+
+        void onStopped(int roomId);
+    }
+
+    private static class StreamStats {
+        final String userId;
+        final StringeeStatsWindow window = new StringeeStatsWindow();
+
+        StreamStats(String userId) {
+            this.userId = userId;
+        }
+    }
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<String, StreamStats> streamStats = new HashMap<>();
+    private final int roomId;
+    private final int interval;
+    private final Listener listener;
+    private volatile boolean running;
+    private int round;
+    private int pending;
+
+    public StringeeRoomStatsMonitor(int roomId, int interval, Listener listener) {
+        this.roomId = roomId;
+        this.interval = Math.max(interval, MIN_INTERVAL);
+        this.listener = listener;
+    }
+
+    public void start() {
+        running = true;
+        handler.post(this);
+    }
+
+    public void stop() {
+        running = false;
+        handler.removeCallbacks(this);
+    }
+
+    @Override
+    public void run() {
+        if (!running) {
+            return;
+        }
+
+        if (StringeeManager.getInstance().getRoomsRegistry().get(roomId) == null) {
+            stop();
+            listener.onStopped(roomId);
+            return;
+        }
+
+        List<StringeeStream> streams = StringeeManager.getInstance().getStreamsRegistry().findAll(new StringeeRegistry.Filter<String, StringeeStream>() {
+            @Override
+            public boolean matches(String streamId, StringeeStream stream) {
+                StringeeRoom room = stream.getRoom();
+                return room != null && room.getId() == roomId;
+            }
+        });
+
+        final int currentRound;
+        synchronized (this) {
+            // Some streams did not answer in time, report what the last round collected.
+            if (pending > 0) {
+                report();
+            }
+            Map<String, StreamStats> previous = new HashMap<>(streamStats);
+            streamStats.clear();
+            for (int i = 0; i < streams.size(); i++) {
+                StringeeStream stream = streams.get(i);
+                StreamStats stats = previous.get(stream.getId());
+                streamStats.put(stream.getId(), stats != null ? stats : new StreamStats(stream.getUserId()));
+            }
+            currentRound = ++round;
+            pending = streams.size();
+            if (pending == 0) {
+                report();
+            }
+        }
+
+        for (int i = 0; i < streams.size(); i++) {
+            final String streamId = streams.get(i).getId();
+            streams.get(i).getStats(new StringeeStream.StringeeStreamStatsListener() {
+                @Override
+                public void onCallStats(StringeeStream.StringeeStreamStats stringeeStreamStats) {
+                    onStreamStats(currentRound, streamId, stringeeStreamStats);
+                }
+            });
+        }
+        handler.postDelayed(this, interval);
+    }
+
+    private synchronized void onStreamStats(int statsRound, String streamId, StringeeStream.StringeeStreamStats stringeeStreamStats) {
+        if (!running || statsRound != round) {
+            return;
+        }
+        StreamStats stats = streamStats.get(streamId);
+        if (stats == null) {
+            return;
+        }
+        stats.window.add((long) stringeeStreamStats.bytesReceived, (long) stringeeStreamStats.packetsLost,
+                (long) stringeeStreamStats.packetsReceived, (long) stringeeStreamStats.timeStamp);
+        pending--;
+        if (pending == 0) {
+            report();
+        }
+    }
+
+    private void report() {
+        pending = 0;
+        double bitrate = 0;
+        double averageBitrate = 0;
+        long lostPackets = 0;
+        long totalPackets = 0;
+        WritableArray streams = Arguments.createArray();
+        for (Map.Entry<String, StreamStats> entry : streamStats.entrySet()) {
+            StringeeStatsWindow window = entry.getValue().window;
+            bitrate += window.getBitrate();
+            averageBitrate += window.getAverageBitrate();
+            lostPackets += window.getLostPackets();
+            totalPackets += window.getTotalPackets();
+
+            WritableMap stream = Arguments.createMap();
+            stream.putString("streamId", entry.getKey());
+            stream.putString("userId", entry.getValue().userId);
+            window.writeTo(stream);
+            streams.pushMap(stream);
+        }
+
+        WritableMap report = Arguments.createMap();
+        report.putInt("roomId", roomId);
+        report.putInt("streamCount", streamStats.size());
+        report.putDouble("bitrate", bitrate);
+        report.putDouble("averageBitrate", averageBitrate);
+        report.putDouble("packetLossPercent", totalPackets > 0 ? lostPackets * 100.0 / totalPackets : 0);
+        report.putArray("streams", streams);
+        listener.onStats(roomId, report);
+    }
+}
@@ -0,0 +1,116 @@
+package com.stringeereactnative;
+
+import com.facebook.react.bridge.WritableMap;
+
+// Keeps the last samples of cumulative stream counters in a fixed ring buffer
+// and derives rates from the deltas between them.
+public class StringeeStatsWindow {
+
+    public static final int DEFAULT_CAPACITY = 10;
+
+    private final long[] bytesReceived;
+    private final long[] packetsLost;
+    private final long[] packetsReceived;
+    private final long[] timeStamps;
+    private final int capacity;
+    private int head = -1;
+    private int size;
+
+    public StringeeStatsWindow() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StringeeStatsWindow(int capacity) {
+        this.capacity = Math.max(capacity, 2);
+        bytesReceived = new long[this.capacity];
+        packetsLost = new long[this.capacity];
+        packetsReceived = new long[this.capacity];
+        timeStamps = new long[this.capacity];
+    }
+
+    public synchronized void add(long bytes, long lost, long received, long timeStamp) {
+        // Counters restart when the media session is renegotiated, start a new window then.
+        if (size > 0 && (bytes < bytesReceived[head] || timeStamp <= timeStamps[head])) {
+            size = 0;
+        }
+        head = (head + 1) % capacity;
+        bytesReceived[head] = bytes;
+        packetsLost[head] = lost;
+        packetsReceived[head] = received;
+        timeStamps[head] = timeStamp;
+        size = Math.min(size + 1, capacity);
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private int index(int age) {
+        return (head - age + capacity) % capacity;
+    }
+
+    private double bitrate(int age) {
+        int current = index(age);
+        int previous = index(age + 1);
+        long duration = timeStamps[current] - timeStamps[previous];
+        if (duration <= 0) {
+            return 0;
+        }
+        return (bytesReceived[current] - bytesReceived[previous]) * 8000.0 / duration;
+    }
+
+    // Bits per second over the last sampling interval.
+    public synchronized double getBitrate() {
+        return size < 2 ? 0 : bitrate(0);
+    }
+
+    public synchronized double getAverageBitrate() {
+        if (size < 2) {
+            return 0;
+        }
+        int oldest = index(size - 1);
+        long duration = timeStamps[head] - timeStamps[oldest];
+        return duration <= 0 ? 0 : (bytesReceived[head] - bytesReceived[oldest]) * 8000.0 / duration;
+    }
+
+    // Packets lost over the whole window.
+    public synchronized long getLostPackets() {
+        return size < 2 ? 0 : packetsLost[head] - packetsLost[index(size - 1)];
+    }
+
+    // Packets lost or received over the whole window.
+    public synchronized long getTotalPackets() {
+        return size < 2 ? 0 : getLostPackets() + packetsReceived[head] - packetsReceived[index(size - 1)];
+    }
+
+    // Lost packets as a percentage of all packets over the whole window.
+    public synchronized double getPacketLossPercent() {
+        long total = getTotalPackets();
+        return total <= 0 ? 0 : getLostPackets() * 100.0 / total;
+    }
+
+    // Mean absolute change between consecutive interval bitrates, a measure of how unstable the stream is.
+    public synchronized double getBitrateJitter() {
+        if (size < 3) {
+            return 0;
+        }
+        double total = 0;
+        for (int age = 0; age < size - 2; age++) {
+            total += Math.abs(bitrate(age) - bitrate(age + 1));
+        }
+        return total / (size - 2);
+    }
+
+    public synchronized void writeTo(WritableMap map) {
+        map.putDouble("bitrate", getBitrate());
+        map.putDouble("averageBitrate", getAverageBitrate());
+        map.putDouble("packetLossPercent", getPacketLossPercent());
+        map.putDouble("bitrateJitter", getBitrateJitter());
+        if (size > 0) {
+            map.putDouble("bytesReceived", bytesReceived[head]);
+            map.putDouble("packetsLost", packetsLost[head]);
+            map.putDouble("packetsReceived", packetsReceived[head]);
+            map.putDouble("timeStamp", timeStamps[head]);
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.stringeereactnative;
+
+import com.stringee.conference.StringeeRoom;
+import com.stringee.conference.StringeeStream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// Decides which remote streams of a room are subscribed and which visible video tiles may render.
+// Rooms without a policy are not limited. Within a room, active speakers come first, then streams
+// in the order they were added and tiles in the order they became visible.
+public class StringeeSubscriptionPolicy {
+
+    public interface Tile {
+        String getStreamId();
+
+        void onVideoAllowedChanged();
+    }
+
+    private static class RoomPolicy {
+        final boolean autoSubscribe;
+        final int maxActiveVideo;
+        List<String> activeSpeakers = new ArrayList<>();
+        List<String> streams = new ArrayList<>();
+        // Streams the room module subscribed on behalf of this policy, only these are unsubscribed by it.
+        Set<String> ownedStreams = new HashSet<>();
+
+        RoomPolicy(boolean autoSubscribe, int maxActiveVideo) {
+            this.autoSubscribe = autoSubscribe;
+            this.maxActiveVideo = maxActiveVideo;
+        }
+    }
+
+    private final Map<Integer, RoomPolicy> policies = new HashMap<>();
+    private final Set<Tile> visibleTiles = new LinkedHashSet<>();
+    private final Set<Tile> deniedTiles = new HashSet<>();
+
+    public void setPolicy(int roomId, boolean autoSubscribe, int maxActiveVideo) {
+        List<Tile> changed;
+        synchronized (this) {
+            RoomPolicy previous = policies.get(roomId);
+            RoomPolicy policy = new RoomPolicy(autoSubscribe, Math.max(maxActiveVideo, 0));
+            if (previous != null) {
+                policy.activeSpeakers = previous.activeSpeakers;
+                policy.streams = previous.streams;
+                policy.ownedStreams = previous.ownedStreams;
+            }
+            policies.put(roomId, policy);
+            changed = recompute();
+        }
+        notify(changed);
+    }
+
+    public void clear(int roomId) {
+        List<Tile> changed;
+        synchronized (this) {
+            if (policies.remove(roomId) == null) {
+                return;
+            }
+            changed = recompute();
+        }
+        notify(changed);
+    }
+
+    public synchronized boolean isAutoSubscribe(int roomId) {
+        RoomPolicy policy = policies.get(roomId);
+        return policy != null && policy.autoSubscribe;
+    }
+
+    public void setActiveSpeakers(int roomId, List<String> streamIds) {
+        List<Tile> changed;
+        synchronized (this) {
+            RoomPolicy policy = policies.get(roomId);
+            if (policy == null) {
+                return;
+            }
+            policy.activeSpeakers = streamIds;
+            changed = recompute();
+        }
+        notify(changed);
+    }
+
+    public synchronized void addStream(int roomId, String streamId) {
+        RoomPolicy policy = policies.get(roomId);
+        if (policy != null && streamId != null && !policy.streams.contains(streamId)) {
+            policy.streams.add(streamId);
+        }
+    }
+
+    public synchronized void removeStream(int roomId, String streamId) {
+        RoomPolicy policy = policies.get(roomId);
+        if (policy != null) {
+            policy.streams.remove(streamId);
+            policy.ownedStreams.remove(streamId);
+        }
+    }
+
+    public synchronized List<String> getStreams(int roomId) {
+        RoomPolicy policy = policies.get(roomId);
+        return policy != null ? new ArrayList<>(policy.streams) : new ArrayList<String>();
+    }
+
+    // The streams that fit the video budget of an auto subscribe room, all of them when the budget is 0.
+    public synchronized List<String> getStreamsToSubscribe(int roomId) {
+        RoomPolicy policy = policies.get(roomId);
+        List<String> selected = new ArrayList<>();
+        if (policy == null || !policy.autoSubscribe) {
+            return selected;
+        }
+        for (int i = 0; i < policy.activeSpeakers.size(); i++) {
+            String streamId = policy.activeSpeakers.get(i);
+            if (policy.streams.contains(streamId) && !selected.contains(streamId)) {
+                selected.add(streamId);
+            }
+        }
+        for (int i = 0; i < policy.streams.size(); i++) {
+            if (!selected.contains(policy.streams.get(i))) {
+                selected.add(policy.streams.get(i));
+            }
+        }
+        if (policy.maxActiveVideo > 0 && selected.size() > policy.maxActiveVideo) {
+            return new ArrayList<>(selected.subList(0, policy.maxActiveVideo));
+        }
+        return selected;
+    }
+
+    public synchronized void setOwned(int roomId, String streamId, boolean owned) {
+        RoomPolicy policy = policies.get(roomId);
+        if (policy == null || streamId == null) {
+            return;
+        }
+        if (owned) {
+            policy.ownedStreams.add(streamId);
+        } else {
+            policy.ownedStreams.remove(streamId);
+        }
+    }
+
+    public synchronized boolean isOwned(int roomId, String streamId) {
+        RoomPolicy policy = policies.get(roomId);
+        return policy != null && policy.ownedStreams.contains(streamId);
+    }
+
+    public void setVisible(Tile tile, boolean visible) {
+        List<Tile> changed;
+        synchronized (this) {
+            boolean updated = visible ? visibleTiles.add(tile) : visibleTiles.remove(tile);
+            if (!updated) {
+                return;
+            }
+            changed = recompute();
+        }
+        notify(changed);
+    }
+
+    public synchronized boolean isVideoAllowed(Tile tile) {
+        return !deniedTiles.contains(tile);
+    }
+
+    private static int roomIdOf(Tile tile) {
+        StringeeStream stream = StringeeManager.getInstance().getStreamsRegistry().get(tile.getStreamId());
+        StringeeRoom room = stream != null ? stream.getRoom() : null;
+        return room != null ? room.getId() : 0;
+    }
+
+    // Returns the tiles whose permission changed, they are told outside the lock.
+    private List<Tile> recompute() {
+        Map<Integer, List<Tile>> roomTiles = new HashMap<>();
+        for (Tile tile : visibleTiles) {
+            int roomId = roomIdOf(tile);
+            RoomPolicy policy = policies.get(roomId);
+            if (policy == null || policy.maxActiveVideo == 0) {
+                continue;
+            }
+            List<Tile> tiles = roomTiles.get(roomId);
+            if (tiles == null) {
+                tiles = new ArrayList<>();
+                roomTiles.put(roomId, tiles);
+            }
+            tiles.add(tile);
+        }
+
+        Set<Tile> denied = new HashSet<>();
+        for (Map.Entry<Integer, List<Tile>> entry : roomTiles.entrySet()) {
+            RoomPolicy policy = policies.get(entry.getKey());
+            List<Tile> ordered = new ArrayList<>();
+            for (int i = 0; i < policy.activeSpeakers.size(); i++) {
+                for (Tile tile : entry.getValue()) {
+                    if (policy.activeSpeakers.get(i).equals(tile.getStreamId()) && !ordered.contains(tile)) {
+                        ordered.add(tile);
+                    }
+                }
+            }
+            for (Tile tile : entry.getValue()) {
+                if (!ordered.contains(tile)) {
+                    ordered.add(tile);
+                }
+            }
+            for (int i = policy.maxActiveVideo; i < ordered.size(); i++) {
+                denied.add(ordered.get(i));
+            }
+        }
+
+        List<Tile> changed = new ArrayList<>();
+        for (Tile tile : denied) {
+            if (!deniedTiles.contains(tile)) {
+                changed.add(tile);
+            }
+        }
+        for (Tile tile : deniedTiles) {
+            if (!denied.contains(tile)) {
+                changed.add(tile);
+            }
+        }
+        deniedTiles.clear();
+        deniedTiles.addAll(denied);
+        return changed;
+    }
+
+    private void notify(List<Tile> tiles) {
+        for (int i = 0; i < tiles.size(); i++) {
+            tiles.get(i).onVideoAllowedChanged();
+        }
+    }
+}
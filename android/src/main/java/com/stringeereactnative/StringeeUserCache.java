@@ -0,0 +1,63 @@
+package com.stringeereactnative;
+
+import android.util.LruCache;
+
+import com.stringee.StringeeClient;
+import com.stringee.messaging.User;
+
+import java.util.List;
+
+public class StringeeUserCache {
+
+    private static final int MAX_SIZE = 256;
+
+    private final LruCache<String, User> users = new LruCache<>(MAX_SIZE);
+
+    public String getName(StringeeClient client, String userId) {
+        if (userId == null) {
+            return "";
+        }
+
+        User user = users.get(userId);
+        if (user == null) {
+            user = client.getUser(userId);
+            if (user == null) {
+                return "";
+            }
+            users.put(userId, user);
+        }
+
+        String name = user.getName();
+        if (name == null || name.length() == 0) {
+            name = user.getUserId();
+        }
+        return name;
+    }
+
+    public void put(User user) {
+        // Participants without a name are left to the client lookup, which may know more.
+        if (user == null || user.getUserId() == null || user.getName() == null || user.getName().length() == 0) {
+            return;
+        }
+        users.put(user.getUserId(), user);
+    }
+
+    public void putAll(List<User> userList) {
+        if (userList == null) {
+            return;
+        }
+        for (int i = 0; i < userList.size(); i++) {
+            put(userList.get(i));
+        }
+    }
+
+    public void remove(String userId) {
+        if (userId != null) {
+            users.remove(userId);
+        }
+    }
+
+    public void clear() {
+        users.evictAll();
+    }
+}
@@ -1,11 +1,13 @@
 import { Component } from "react";
 import PropTypes from "prop-types";
 import { NativeModules, NativeEventEmitter, Platform } from "react-native";
-import { callEvents } from "./helpers/StringeeHelper";
+import { callEvents, rejectAndroidOnly } from "./helpers/StringeeHelper";
 import { each } from "underscore";
 
 const RNStringeeCall = NativeModules.RNStringeeCall;
 
+const iOS = Platform.OS === "ios" ? true : false;
+
 export default class extends Component {
   static propTypes = {
     eventHandlers: PropTypes.object
@@ -65,6 +67,42 @@ export default class extends Component {
     RNStringeeCall.makeCall(parameters, callback);
   }
 
+  makeCallWithMap(parameters: object, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("makeCallWithMap", callback);
+      return;
+    }
+    RNStringeeCall.makeCallWithMap(parameters, callback);
+  }
+
+  prepareCall(
+    parameters: object,
+    ttl: number,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("prepareCall", callback);
+      return;
+    }
+    RNStringeeCall.prepareCall(parameters, ttl, callback);
+  }
+
+  dialPrepared(handle: string, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("dialPrepared", callback);
+      return;
+    }
+    RNStringeeCall.dialPrepared(handle, callback);
+  }
+
+  cancelPreparedCall(handle: string) {
+    if (iOS) {
+      rejectAndroidOnly("cancelPreparedCall");
+      return;
+    }
+    RNStringeeCall.cancelPreparedCall(handle);
+  }
+
   initAnswer(callId: string, callback: RNStringeeEventCallback) {
     RNStringeeCall.initAnswer(callId, callback);
   }
@@ -93,10 +131,59 @@ export default class extends Component {
     RNStringeeCall.sendCallInfo(callId, callInfo, callback);
   }
 
+  sendCallInfoWithMap(
+    callId: string,
+    callInfo: object,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("sendCallInfoWithMap", callback);
+      return;
+    }
+    RNStringeeCall.sendCallInfoWithMap(callId, callInfo, callback);
+  }
+
   getCallStats(callId: string, callback: RNStringeeEventCallback) {
     RNStringeeCall.getCallStats(callId, callback);
   }
 
+  getCallStatsMap(callId: string, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("getCallStatsMap", callback);
+      return;
+    }
+    RNStringeeCall.getCallStatsMap(callId, callback);
+  }
+
+  getCallTimeline(callId: string, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("getCallTimeline", callback);
+      return;
+    }
+    RNStringeeCall.getCallTimeline(callId, callback);
+  }
+
+  startStatsMonitor(
+    callId: string,
+    interval: number,
+    options: object,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("startStatsMonitor", callback);
+      return;
+    }
+    RNStringeeCall.startStatsMonitor(callId, interval, options, callback);
+  }
+
+  stopStatsMonitor(callId: string, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("stopStatsMonitor", callback);
+      return;
+    }
+    RNStringeeCall.stopStatsMonitor(callId, callback);
+  }
+
   switchCamera(callId: string, callback: RNStringeeEventCallback) {
     RNStringeeCall.switchCamera(callId, callback);
   }
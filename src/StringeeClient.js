@@ -1,7 +1,7 @@
 import { Component } from "react";
 import PropTypes from "prop-types";
 import { NativeModules, NativeEventEmitter, Platform } from "react-native";
-import { clientEvents } from "./helpers/StringeeHelper";
+import { clientEvents, rejectAndroidOnly } from "./helpers/StringeeHelper";
 import Conversation from "./chat/Conversation";
 import Message from "./chat/Message";
 import User from "./chat/User";
@@ -13,7 +13,8 @@ const iOS = Platform.OS === "ios" ? true : false;
 
 export default class extends Component {
   static propTypes = {
-    eventHandlers: PropTypes.object
+    eventHandlers: PropTypes.object,
+    options: PropTypes.object
   };
 
   constructor(props) {
@@ -25,7 +26,7 @@ export default class extends Component {
 
   componentWillMount() {
     if (!iOS) {
-      RNStringeeClient.init();
+      RNStringeeClient.init(this.props.options || {});
     }
     this.sanitizeClientEvents(this.props.eventHandlers);
   }
@@ -278,6 +279,42 @@ export default class extends Component {
     });
   }
 
+  openConversationCursor(options, callback) {
+    if (iOS) {
+      rejectAndroidOnly("openConversationCursor", callback);
+      return;
+    }
+    RNStringeeClient.openConversationCursor(options, callback);
+  }
+
+  fetchConversationCursor(cursorId, count, onChunk, callback) {
+    if (iOS) {
+      rejectAndroidOnly("fetchConversationCursor", callback);
+      return;
+    }
+    const subscription = this._eventEmitter.addListener("onConversationCursorChunk", chunk => {
+      if (chunk.cursorId === cursorId) {
+        var returnConversations = [];
+        chunk.conversations.map((conversation) => {
+          returnConversations.push(new Conversation(conversation));
+        });
+        onChunk(returnConversations, chunk.isLast);
+      }
+    });
+    RNStringeeClient.fetchConversationCursor(cursorId, count, (status, code, message, fetchedCount, hasMore) => {
+      subscription.remove();
+      return callback(status, code, message, fetchedCount, hasMore);
+    });
+  }
+
+  closeConversationCursor(cursorId) {
+    if (iOS) {
+      rejectAndroidOnly("closeConversationCursor");
+      return;
+    }
+    RNStringeeClient.closeConversationCursor(cursorId);
+  }
+
   deleteConversation(conversationId, callback) {
     RNStringeeClient.deleteConversation(conversationId, callback);
   }
@@ -314,6 +351,14 @@ export default class extends Component {
     RNStringeeClient.markConversationAsRead(conversationId, callback);
   }
 
+  markConversationsAsRead(conversationIds, maxInFlight, callback) {
+    if (iOS) {
+      rejectAndroidOnly("markConversationsAsRead", callback);
+      return;
+    }
+    RNStringeeClient.markConversationsAsRead(conversationIds, maxInFlight, callback);
+  }
+
   getConversationWithUser(userId, callback) {
     RNStringeeClient.getConversationWithUser(userId, (status, code, message, conversation) => {
       var returnConversation;
@@ -332,10 +377,26 @@ export default class extends Component {
     RNStringeeClient.sendMessage(message, callback);
   }
 
+  sendMessages(messages, maxInFlight, callback) {
+    if (iOS) {
+      rejectAndroidOnly("sendMessages", callback);
+      return;
+    }
+    RNStringeeClient.sendMessages(messages, maxInFlight, callback);
+  }
+
   deleteMessage(conversationId, messageId, callback) {
     RNStringeeClient.deleteMessage(conversationId, messageId, callback);
   }
 
+  deleteMessages(conversationId, messageIds, callback) {
+    if (iOS) {
+      rejectAndroidOnly("deleteMessages", callback);
+      return;
+    }
+    RNStringeeClient.deleteMessages(conversationId, messageIds, callback);
+  }
+
   getLocalMessages(conversationId, count, isAscending, callback) {
     RNStringeeClient.getLocalMessages(conversationId, count, (status, code, message, messages) => {
       var returnMessages = [];
@@ -411,4 +472,36 @@ export default class extends Component {
   clearDb(callback) {
     RNStringeeClient.clearDb(callback);
   }
+
+  getRegistryStats(callback) {
+    if (iOS) {
+      rejectAndroidOnly("getRegistryStats", callback);
+      return;
+    }
+    RNStringeeClient.getRegistryStats(callback);
+  }
+
+  setMetricsEnabled(enabled) {
+    if (iOS) {
+      rejectAndroidOnly("setMetricsEnabled");
+      return;
+    }
+    RNStringeeClient.setMetricsEnabled(enabled);
+  }
+
+  getMetrics(callback) {
+    if (iOS) {
+      rejectAndroidOnly("getMetrics", callback);
+      return;
+    }
+    RNStringeeClient.getMetrics(callback);
+  }
+
+  resetMetrics() {
+    if (iOS) {
+      rejectAndroidOnly("resetMetrics");
+      return;
+    }
+    RNStringeeClient.resetMetrics();
+  }
 }
@@ -1,11 +1,13 @@
 import { Component } from "react";
 import PropTypes from "prop-types";
 import { NativeModules, NativeEventEmitter, Platform } from "react-native";
-import { roomEvents } from "./helpers/StringeeHelper";
+import { roomEvents, rejectAndroidOnly } from "./helpers/StringeeHelper";
 import { each } from "underscore";
 
 const RNStringeeRoom = NativeModules.RNStringeeRoom;
 
+const iOS = Platform.OS === "ios" ? true : false;
+
 export default class extends Component {
   static propTypes = {
     eventHandlers: PropTypes.object
@@ -121,6 +123,43 @@ export default class extends Component {
     RNStringeeRoom.setSpeakerphoneOn(isOn);
   }
 
+  switchCameraInRoom(roomId: number) {
+    if (iOS) {
+      // iOS only keeps the controls of its current room
+      RNStringeeRoom.switchCamera();
+      return;
+    }
+    RNStringeeRoom.switchCameraInRoom(roomId);
+  }
+
+  muteInRoom(roomId: number, isMute: boolean) {
+    if (iOS) {
+      RNStringeeRoom.mute(isMute);
+      return;
+    }
+    RNStringeeRoom.muteInRoom(roomId, isMute);
+  }
+
+  turnOnCameraInRoom(
+    roomId: number,
+    isOn: boolean,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      RNStringeeRoom.turnOnCamera(isOn, callback);
+      return;
+    }
+    RNStringeeRoom.turnOnCameraInRoom(roomId, isOn, callback);
+  }
+
+  setSpeakerphoneOnInRoom(roomId: number, isOn: boolean) {
+    if (iOS) {
+      RNStringeeRoom.setSpeakerphoneOn(isOn);
+      return;
+    }
+    RNStringeeRoom.setSpeakerphoneOnInRoom(roomId, isOn);
+  }
+
   getStats(
     roomId: number,
     streamId: string,
@@ -129,4 +168,65 @@ export default class extends Component {
   ) {
     RNStringeeRoom.getStats(roomId, streamId, useVideoTrack, callback);
   }
+
+  getStatsMap(
+    roomId: number,
+    streamId: string,
+    useVideoTrack: boolean,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("getStatsMap", callback);
+      return;
+    }
+    RNStringeeRoom.getStatsMap(roomId, streamId, useVideoTrack, callback);
+  }
+
+  getPendingOperationStats(callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("getPendingOperationStats", callback);
+      return;
+    }
+    RNStringeeRoom.getPendingOperationStats(callback);
+  }
+
+  setSubscriptionPolicy(
+    roomId: number,
+    options: object,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("setSubscriptionPolicy", callback);
+      return;
+    }
+    RNStringeeRoom.setSubscriptionPolicy(roomId, options, callback);
+  }
+
+  setActiveSpeakers(roomId: number, streamIds: Array<string>) {
+    if (iOS) {
+      rejectAndroidOnly("setActiveSpeakers");
+      return;
+    }
+    RNStringeeRoom.setActiveSpeakers(roomId, streamIds);
+  }
+
+  startRoomStatsMonitor(
+    roomId: number,
+    interval: number,
+    callback: RNStringeeEventCallback
+  ) {
+    if (iOS) {
+      rejectAndroidOnly("startRoomStatsMonitor", callback);
+      return;
+    }
+    RNStringeeRoom.startRoomStatsMonitor(roomId, interval, callback);
+  }
+
+  stopRoomStatsMonitor(roomId: number, callback: RNStringeeEventCallback) {
+    if (iOS) {
+      rejectAndroidOnly("stopRoomStatsMonitor", callback);
+      return;
+    }
+    RNStringeeRoom.stopRoomStatsMonitor(roomId, callback);
+  }
 }
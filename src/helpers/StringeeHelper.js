@@ -1,3 +1,5 @@
+import { DeviceEventEmitter, Platform } from "react-native";
+
 const clientEvents = {
   ios: {
     onConnect: "didConnect",
@@ -36,7 +38,9 @@ const callEvents = {
     onReceiveRemoteStream: "onRemoteStream",
     onReceiveDtmfDigit: "onDTMF",
     onReceiveCallInfo: "onCallInfo",
-    onHandleOnAnotherDevice: "onHandledOnAnotherDevice"
+    onHandleOnAnotherDevice: "onHandledOnAnotherDevice",
+    onReceiveCallStats: "onCallStats",
+    onReceiveCallTimeline: "onCallTimeline"
   }
 };
 
@@ -53,14 +57,36 @@ const roomEvents = {
     onRoomDisConnect: "onRoomDisconnected",
     onRoomError: "onRoomError",
     onStreamAdd: "onStreamAdded",
-    onStreamRemove: "onStreamRemoved"
+    onStreamRemove: "onStreamRemoved",
+    onReceiveRoomStats: "onRoomStats"
   }
 };
 
+// Android can batch native events into a single bridge message, unpack them here
+// so every component keeps listening to the original event names.
+if (Platform.OS === "android") {
+  DeviceEventEmitter.addListener("onBatchedEvents", events => {
+    events.forEach(({ name, data }) => DeviceEventEmitter.emit(name, data));
+  });
+}
+
 export type RNStringeeEventCallback = (
   status: boolean,
   code: int,
   message: string
 ) => void;
 
-export { clientEvents, callEvents, roomEvents };
+// Some native methods only exist in the Android module. On iOS they fail through
+// the callback with this code, or throw when they take no callback.
+const ANDROID_ONLY_ERROR = -10;
+
+const rejectAndroidOnly = (method: string, callback?: RNStringeeEventCallback) => {
+  const message = method + " is only supported on Android.";
+  if (callback) {
+    callback(false, ANDROID_ONLY_ERROR, message);
+    return;
+  }
+  throw new Error(message);
+};
+
+export { clientEvents, callEvents, roomEvents, ANDROID_ONLY_ERROR, rejectAndroidOnly };